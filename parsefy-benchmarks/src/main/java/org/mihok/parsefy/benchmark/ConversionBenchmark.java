@@ -0,0 +1,82 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.CsvColumn;
+import org.mihok.parsefy.CsvSchema;
+import org.mihok.parsefy.DateFormat;
+import org.mihok.parsefy.converter.Converter;
+import org.mihok.parsefy.core.FieldDefinition;
+import org.mihok.parsefy.core.SchemaReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// The converter SchemaReader resolves for a field, as parse() uses it, for one value of each built-in type
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @CsvSchema
+    static class Target {
+        @CsvColumn(name = "string")
+        private String stringValue;
+        @CsvColumn(name = "int")
+        private int intValue;
+        @CsvColumn(name = "long")
+        private long longValue;
+        @CsvColumn(name = "double")
+        private double doubleValue;
+        @CsvColumn(name = "bigDecimal")
+        private BigDecimal bigDecimalValue;
+        @CsvColumn(name = "boolean")
+        private boolean booleanValue;
+        @CsvColumn(name = "localDate")
+        private LocalDate localDateValue;
+        @DateFormat("dd/MM/yyyy")
+        @CsvColumn(name = "patternDate")
+        private LocalDate patternDateValue;
+        @CsvColumn(name = "uuid")
+        private UUID uuidValue;
+        @CsvColumn(name = "instant")
+        private Instant instantValue;
+    }
+
+    @Param({"string", "int", "long", "double", "bigDecimal", "boolean", "localDate", "patternDate", "uuid", "instant"})
+    public String type;
+
+    private Converter<?> converter;
+    private String value;
+
+    @Setup
+    public void setup() {
+        for (FieldDefinition field : SchemaReader.read(Target.class).getFields()) {
+            if (field.getColumnName().equals(type)) {
+                converter = field.getConverter();
+            }
+        }
+        switch (type) {
+            case "string": value = "SG18"; break;
+            case "int": value = "123456"; break;
+            case "long": value = "9876543210123"; break;
+            case "double": value = "12345.678"; break;
+            case "bigDecimal": value = "1234567.89"; break;
+            case "boolean": value = "true"; break;
+            case "localDate": value = "2024-01-15"; break;
+            case "patternDate": value = "15/01/2024"; break;
+            case "uuid": value = "123e4567-e89b-12d3-a456-426614174000"; break;
+            default: value = "2024-01-15T10:15:30Z";
+        }
+    }
+
+    @Benchmark
+    public Object convert() throws Exception {
+        return converter.convert(value);
+    }
+}
@@ -0,0 +1,112 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.CsvColumn;
+import org.mihok.parsefy.CsvSchema;
+import org.mihok.parsefy.core.FieldAccessor;
+import org.mihok.parsefy.core.SchemaDefinition;
+import org.mihok.parsefy.core.SchemaReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+// Reflective Field.set/Constructor.newInstance (the old row path) against the compiled accessors
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessorBenchmark {
+
+    @CsvSchema
+    public static class Measurement {
+        @CsvColumn(name = "count")
+        private int count;
+
+        @CsvColumn(name = "total")
+        private long total;
+
+        @CsvColumn(name = "ratio")
+        private double ratio;
+
+        @CsvColumn(name = "active")
+        private boolean active;
+
+        @CsvColumn(name = "label")
+        private String label;
+    }
+
+    private Field countField;
+    private Field totalField;
+    private Field ratioField;
+    private Field activeField;
+    private Field labelField;
+
+    private SchemaDefinition<Measurement> schema;
+    private FieldAccessor count;
+    private FieldAccessor total;
+    private FieldAccessor ratio;
+    private FieldAccessor active;
+    private FieldAccessor label;
+
+    private int counter;
+
+    @Setup
+    public void setup() throws Exception {
+        countField = accessible("count");
+        totalField = accessible("total");
+        ratioField = accessible("ratio");
+        activeField = accessible("active");
+        labelField = accessible("label");
+
+        schema = SchemaReader.read(Measurement.class);
+        count = schema.getFields().get(0).getAccessor();
+        total = schema.getFields().get(1).getAccessor();
+        ratio = schema.getFields().get(2).getAccessor();
+        active = schema.getFields().get(3).getAccessor();
+        label = schema.getFields().get(4).getAccessor();
+    }
+
+    private static Field accessible(String name) throws NoSuchFieldException {
+        Field field = Measurement.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Benchmark
+    public Measurement reflective() throws Exception {
+        int i = counter++;
+        Measurement row = Measurement.class.getDeclaredConstructor().newInstance();
+        countField.set(row, i);
+        totalField.set(row, (long) i);
+        ratioField.set(row, i * 0.5d);
+        activeField.set(row, (i & 1) == 0);
+        labelField.set(row, "label");
+        return row;
+    }
+
+    @Benchmark
+    public Measurement accessorBoxed() {
+        int i = counter++;
+        Measurement row = schema.newInstance();
+        count.set(row, i);
+        total.set(row, (long) i);
+        ratio.set(row, i * 0.5d);
+        active.set(row, (i & 1) == 0);
+        label.set(row, "label");
+        return row;
+    }
+
+    @Benchmark
+    public Measurement accessorPrimitive() {
+        int i = counter++;
+        Measurement row = schema.newInstance();
+        count.setInt(row, i);
+        total.setLong(row, i);
+        ratio.setDouble(row, i * 0.5d);
+        active.setBoolean(row, (i & 1) == 0);
+        label.set(row, "label");
+        return row;
+    }
+}
@@ -0,0 +1,58 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.benchmark.ParallelParseBenchmark.Order;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Buffered reader chain against the memory-mapped reader for a single-threaded parse(Path)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileInputBenchmark {
+
+    @Param({"false", "true"})
+    public boolean memoryMapped;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("parsefy-input", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,customer,quantity,price,note\n");
+            for (int r = 0; r < rows; r++) {
+                writer.write(r + ",customer" + (r % 5000) + "," + (r % 1000) + "," + (r % 997) + ".25,note " + r + "\n");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() throws Exception {
+        return Parsefy.builder(Order.class)
+                .tokenizer(Tokenizers.FAST)
+                .memoryMapped(memoryMapped)
+                .parse(file)
+                .getResult()
+                .getValidRows()
+                .size();
+    }
+}
@@ -0,0 +1,87 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.CsvColumn;
+import org.mihok.parsefy.CsvSchema;
+import org.mihok.parsefy.Max;
+import org.mihok.parsefy.NotBlank;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Whole-file parse time as parallelism grows; compare against parallelism=1 for the scaling factor
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelParseBenchmark {
+
+    @CsvSchema
+    public static class Order {
+        @CsvColumn(name = "id", required = true)
+        private long id;
+
+        @NotBlank
+        @CsvColumn(name = "customer")
+        private String customer;
+
+        @Max(value = 1000)
+        @CsvColumn(name = "quantity")
+        private int quantity;
+
+        @CsvColumn(name = "price")
+        private double price;
+
+        @CsvColumn(name = "note")
+        private String note;
+    }
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"COMMONS_CSV", "FAST"})
+    public Tokenizers tokenizer;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("parsefy-parallel", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,customer,quantity,price,note\n");
+            for (int r = 0; r < rows; r++) {
+                writer.write(r + ",customer" + (r % 5000) + "," + (r % 1200) + "," + (r % 997) + ".25,");
+                writer.write(r % 10 == 0 ? "\"multi\nline, note\"" : "note " + r);
+                writer.write('\n');
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() throws Exception {
+        return Parsefy.builder(Order.class)
+                .strictMode(false)
+                .tokenizer(tokenizer)
+                .parallelism(parallelism)
+                .parse(file)
+                .getResult()
+                .getValidRows()
+                .size();
+    }
+}
@@ -0,0 +1,103 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.CsvColumn;
+import org.mihok.parsefy.CsvSchema;
+import org.mihok.parsefy.NotBlank;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end Parsefy.parse(Path) of the Wafer shape. NARROW files hold just the two mapped columns,
+// WIDE files bury them among 40 unmapped ones. Files are written once per trial; the 10M row files
+// take a few GB of temp space and their rows about 1.5 GB of heap, so quick runs use -p rows=10000
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    private static final int WIDE_COLUMNS = 42;
+
+    @CsvSchema
+    public static class Wafer {
+        @CsvColumn(name = "fab")
+        private String fab;
+
+        @NotBlank
+        @CsvColumn(name = "vendor_code")
+        private String vendorCode;
+    }
+
+    public enum Shape {
+        NARROW, WIDE
+    }
+
+    @Param({"NARROW", "WIDE"})
+    public Shape shape;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"COMMONS_CSV", "FAST"})
+    public Tokenizers tokenizer;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("parsefy-" + shape.name().toLowerCase() + "-" + rows, ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (shape == Shape.NARROW) {
+                writer.write("fab,vendor_code\n");
+                for (int r = 0; r < rows; r++) {
+                    writer.write("SG" + (r % 20) + ",VC" + r + "\n");
+                }
+                return;
+            }
+            StringBuilder line = new StringBuilder();
+            for (int c = 0; c < WIDE_COLUMNS; c++) {
+                line.append(c == 0 ? "" : ",").append(c == 7 ? "fab" : c == 31 ? "vendor_code" : "col" + c);
+            }
+            writer.write(line.append('\n').toString());
+            for (int r = 0; r < rows; r++) {
+                line.setLength(0);
+                for (int c = 0; c < WIDE_COLUMNS; c++) {
+                    line.append(c == 0 ? "" : ",");
+                    if (c == 7) {
+                        line.append("SG").append(r % 20);
+                    } else if (c == 31) {
+                        line.append("VC").append(r);
+                    } else if (c % 9 == 4) {
+                        line.append("\"n, ").append(c).append('"');
+                    } else {
+                        line.append(r % 1000 + c);
+                    }
+                }
+                writer.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() throws Exception {
+        return Parsefy.builder(Wafer.class)
+                .tokenizer(tokenizer)
+                .parse(file)
+                .getResult()
+                .getValidRows()
+                .size();
+    }
+}
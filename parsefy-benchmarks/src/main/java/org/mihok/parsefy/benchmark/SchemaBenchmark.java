@@ -0,0 +1,27 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.core.SchemaDefinition;
+import org.mihok.parsefy.core.SchemaReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// read is the cached lookup every parse does, compile the reflection work it saves
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaBenchmark {
+
+    @Benchmark
+    public SchemaDefinition<ParseBenchmark.Wafer> read() {
+        return SchemaReader.read(ParseBenchmark.Wafer.class);
+    }
+
+    @Benchmark
+    public SchemaDefinition<ValidationBenchmark.Customer> compile() {
+        return SchemaReader.compile(ValidationBenchmark.Customer.class);
+    }
+}
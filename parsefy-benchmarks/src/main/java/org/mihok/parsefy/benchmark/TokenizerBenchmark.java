@@ -0,0 +1,64 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.tokenizer.CsvTokenizer;
+import org.mihok.parsefy.tokenizer.TokenizerOptions;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Raw tokenizing throughput of both backends on a wide file, touching every cell
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+
+    @Param({"10", "100"})
+    public int columns;
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"COMMONS_CSV", "FAST"})
+    public Tokenizers tokenizer;
+
+    private String csv;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+        for (int c = 0; c < columns; c++) {
+            builder.append(c == 0 ? "" : ",").append("col").append(c);
+        }
+        builder.append('\n');
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                builder.append(c == 0 ? "" : ",");
+                if (c % 10 == 3) {
+                    builder.append("\"quoted, ").append(r).append('"');
+                } else {
+                    builder.append(r * 31 + c);
+                }
+            }
+            builder.append('\n');
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer records = tokenizer.open(new StringReader(csv), new TokenizerOptions(",", true))) {
+            while (records.next()) {
+                for (int i = 0; i < records.size(); i++) {
+                    blackhole.consume(records.cell(i).length());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.CsvColumn;
+import org.mihok.parsefy.CsvSchema;
+import org.mihok.parsefy.Email;
+import org.mihok.parsefy.Max;
+import org.mihok.parsefy.Min;
+import org.mihok.parsefy.NotBlank;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Parse of all-valid rows carrying the built-in validators. Run with -prof gc: gc.alloc.rate.norm
+// divided by rows is the per-row allocation, which should contain nothing from validation
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @CsvSchema
+    public static class Customer {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Min(18)
+        @Max(120)
+        @CsvColumn(name = "age")
+        private int age;
+
+        @Min(0)
+        @CsvColumn(name = "balance")
+        private double balance;
+
+        @Email
+        @CsvColumn(name = "email")
+        private String email;
+    }
+
+    @Param({"10000"})
+    public int rows;
+
+    private String csv;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder("name,age,balance,email\n");
+        for (int r = 0; r < rows; r++) {
+            builder.append("customer").append(r).append(',').append(18 + r % 80).append(',')
+                    .append(r % 1000).append(".5,user").append(r).append("@mail.example.com\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public int parse() throws Exception {
+        return Parsefy.builder(Customer.class)
+                .tokenizer(Tokenizers.FAST)
+                .parse(new StringReader(csv))
+                .getResult()
+                .getValidRows()
+                .size();
+    }
+}
@@ -0,0 +1,62 @@
+package org.mihok.parsefy.benchmark;
+
+import org.mihok.parsefy.core.validator.EmailValidator;
+import org.mihok.parsefy.core.validator.MaxValidator;
+import org.mihok.parsefy.core.validator.MinValidator;
+import org.mihok.parsefy.core.validator.NotBlankValidator;
+import org.mihok.parsefy.validation.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Each built-in validator on its own, for a passing and a failing value. Failures build a new result,
+// passes should show 0 B/op with -prof gc
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private final NotBlankValidator notBlank = new NotBlankValidator("must not be blank");
+    private final EmailValidator email = new EmailValidator("invalid email");
+    private final MinValidator min = new MinValidator(18, "must be at least {value}");
+    private final MaxValidator max = new MaxValidator(120, "must be at most {value}");
+
+    private String text;
+    private String address;
+    private long number;
+    private Integer boxed;
+
+    @Setup
+    public void setup() {
+        text = valid ? "  customer  " : "   ";
+        address = valid ? "first.last+tag@mail.example.com" : "first.last@@example";
+        number = valid ? 42 : 7;
+        boxed = valid ? 42 : 130;
+    }
+
+    @Benchmark
+    public ValidationResult notBlank() {
+        return notBlank.validate(text);
+    }
+
+    @Benchmark
+    public ValidationResult email() {
+        return email.validate(address);
+    }
+
+    @Benchmark
+    public ValidationResult minUnboxed() {
+        return min.validateLong(number);
+    }
+
+    @Benchmark
+    public ValidationResult maxBoxed() {
+        return max.validate(boxed);
+    }
+}
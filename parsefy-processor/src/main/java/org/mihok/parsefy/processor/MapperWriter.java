@@ -0,0 +1,192 @@
+package org.mihok.parsefy.processor;
+
+import org.mihok.parsefy.processor.SchemaProcessor.ColumnModel;
+import org.mihok.parsefy.processor.SchemaProcessor.MapperModel;
+import org.mihok.parsefy.processor.SchemaProcessor.ValueType;
+
+import java.util.List;
+
+// Renders the straight-line RowMapper source. Conversion and validation mirror TypeConverter and the
+// built-in validators, so a generated mapper and the SchemaReader path accept and reject the same rows.
+class MapperWriter {
+    private final MapperModel model;
+    private final StringBuilder out = new StringBuilder();
+
+    MapperWriter(MapperModel model) {
+        this.model = model;
+    }
+
+    String render() {
+        String schemaType = model.type.getQualifiedName().toString();
+        List<ColumnModel> columns = model.columns;
+
+        if (!model.packageName.isEmpty()) {
+            line("package " + model.packageName + ";");
+            line("");
+        }
+        line("// Generated by parsefy-processor from " + schemaType + ". Do not edit.");
+        line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        line("public final class " + model.mapperName + " implements org.mihok.parsefy.core.RowMapper<" + schemaType + "> {");
+        StringBuilder names = new StringBuilder();
+        StringBuilder required = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            names.append(i == 0 ? "" : ", ").append(literal(columns.get(i).columnName));
+            required.append(i == 0 ? "" : ", ").append(columns.get(i).required);
+        }
+        line("    private static final java.util.List<String> COLUMNS = java.util.Collections.unmodifiableList(java.util.Arrays.asList(" + names + "));");
+        line("    private static final boolean[] REQUIRED = {" + required + "};");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnModel column = columns.get(i);
+            if (column.type == ValueType.LOCAL_DATE) {
+                line("    private static final java.time.format.DateTimeFormatter FORMAT_" + i
+                        + " = java.time.format.DateTimeFormatter.ofPattern(" + literal(column.datePattern) + ");");
+            }
+            if (column.customValidator != null) {
+                line("    private final org.mihok.parsefy.core.validator.FieldValidator VALIDATOR_" + i
+                        + " = new " + column.customValidator + "();");
+            }
+        }
+        line("");
+        line("    @Override");
+        line("    public java.util.List<String> getColumnNames() {");
+        line("        return COLUMNS;");
+        line("    }");
+        line("");
+        line("    @Override");
+        line("    public boolean isRequired(int index) {");
+        line("        return REQUIRED[index];");
+        line("    }");
+        line("");
+        line("    @Override");
+        line("    public " + schemaType + " map(String[] values, org.mihok.parsefy.validation.ValidationResult result) {");
+        line("        " + schemaType + " row = new " + schemaType + "();");
+        line("        String raw;");
+        for (int i = 0; i < columns.size(); i++) {
+            renderColumn(i, columns.get(i));
+        }
+        line("        return row;");
+        line("    }");
+        line("}");
+        return out.toString();
+    }
+
+    private void renderColumn(int i, ColumnModel column) {
+        String s = "s" + i;
+        String v = "v" + i;
+        line("        raw = values[" + i + "];");
+        if (column.required) {
+            line("        if (raw == null) {");
+            line("            throw new RuntimeException(" + literal("Required field '" + column.columnName + "' is missing") + ");");
+            line("        }");
+            line("        {");
+        } else {
+            line("        if (raw != null) {");
+        }
+        line("            String " + s + " = raw.trim();");
+        ValueType type = column.type;
+        if (type == ValueType.STRING) {
+            line("            String " + v + " = " + s + ".isEmpty() ? null : " + s + ";");
+        } else if (type.primitive) {
+            line("            if (" + s + ".isEmpty()) {");
+            line("                throw new IllegalArgumentException(" + literal("Cannot assign null to primitive field '" + column.fieldName + "'") + ");");
+            line("            }");
+            line("            " + type.javaType + " " + v + ";");
+            line("            try {");
+            line("                " + v + " = " + parse(i, type, s) + ";");
+            line("            } catch (RuntimeException e) {");
+            line("                throw new RuntimeException(\"Failed to convert value '\" + " + s + " + \"' to type " + type.simpleName() + "\", e);");
+            line("            }");
+        } else {
+            line("            " + type.javaType + " " + v + " = null;");
+            line("            if (!" + s + ".isEmpty()) {");
+            line("                try {");
+            line("                    " + v + " = " + parse(i, type, s) + ";");
+            line("                } catch (RuntimeException e) {");
+            line("                    throw new RuntimeException(\"Failed to convert value '\" + " + s + " + \"' to type " + type.simpleName() + "\", e);");
+            line("                }");
+            line("            }");
+        }
+        if (column.notBlankMessage != null) {
+            line("            if (" + v + " == null) {");
+            line("                result.addError(" + literal(column.notBlankMessage) + ");");
+            line("            }");
+        }
+        if (column.min != null) {
+            line("            if (" + bound(type, v, "<", column.min) + ") {");
+            line("                result.addError(" + literal(column.minMessage) + ");");
+            line("            }");
+        }
+        if (column.max != null) {
+            line("            if (" + bound(type, v, ">", column.max) + ") {");
+            line("                result.addError(" + literal(column.maxMessage) + ");");
+            line("            }");
+        }
+        if (column.emailMessage != null) {
+            line("            if (" + v + " != null && !org.mihok.parsefy.core.validator.EmailValidator.isValidEmail(" + v + ")) {");
+            line("                result.addError(" + literal(column.emailMessage) + ");");
+            line("            }");
+        }
+        if (column.customValidator != null) {
+            line("            result.merge(VALIDATOR_" + i + ".validate(" + v + "));");
+        }
+        if (column.setter != null) {
+            line("            row." + column.setter + "(" + v + ");");
+        } else {
+            line("            row." + column.fieldName + " = " + v + ";");
+        }
+        line("        }");
+    }
+
+    private String parse(int i, ValueType type, String s) {
+        if (type == ValueType.LOCAL_DATE) {
+            return "java.time.LocalDate.parse(" + s + ", FORMAT_" + i + ")";
+        }
+        return type.parser + "(" + s + ")";
+    }
+
+    // Same truncating comparison as MinValidator/MaxValidator: value.longValue() against the bound
+    private String bound(ValueType type, String v, String operator, long limit) {
+        if (type == ValueType.INT || type == ValueType.LONG) {
+            return v + " " + operator + " " + limit + "L";
+        }
+        if (type == ValueType.DOUBLE) {
+            return "(long) " + v + " " + operator + " " + limit + "L";
+        }
+        return v + " != null && " + v + ".longValue() " + operator + " " + limit + "L";
+    }
+
+    private void line(String text) {
+        out.append(text).append('\n');
+    }
+
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
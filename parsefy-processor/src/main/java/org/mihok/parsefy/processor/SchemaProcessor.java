@@ -0,0 +1,340 @@
+package org.mihok.parsefy.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+public class SchemaProcessor extends AbstractProcessor {
+    static final String CSV_SCHEMA = "org.mihok.parsefy.CsvSchema";
+    static final String CSV_COLUMN = "org.mihok.parsefy.CsvColumn";
+    static final String NOT_BLANK = "org.mihok.parsefy.NotBlank";
+    static final String MIN = "org.mihok.parsefy.Min";
+    static final String MAX = "org.mihok.parsefy.Max";
+    static final String EMAIL = "org.mihok.parsefy.Email";
+    static final String DATE_FORMAT = "org.mihok.parsefy.DateFormat";
+    static final String CUSTOM_VALIDATOR = "org.mihok.parsefy.CustomValidator";
+    static final String MAPPER_SUFFIX = "_ParsefyMapper";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CSV_SCHEMA);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement schemaAnnotation = processingEnv.getElementUtils().getTypeElement(CSV_SCHEMA);
+        if (schemaAnnotation == null) {
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(schemaAnnotation))) {
+            try {
+                MapperModel model = readModel(type);
+                if (model != null) {
+                    write(model);
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write Parsefy mapper: " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    private MapperModel readModel(TypeElement type) {
+        String skipReason = checkType(type);
+        if (skipReason != null) {
+            skip(type, skipReason);
+            return null;
+        }
+        MapperModel model = new MapperModel(type, packageOf(type), mapperSimpleName(type));
+        List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Map<String, Object> column = annotation(field, CSV_COLUMN);
+            if (column == null) {
+                continue;
+            }
+            ColumnModel columnModel = new ColumnModel(field.getSimpleName().toString(),
+                    (String) column.get("name"), (Boolean) column.get("required"));
+            columnModel.type = ValueType.of(field.asType());
+            if (columnModel.type == null) {
+                skip(type, "field '" + columnModel.fieldName + "' has type " + field.asType() + " which has no generated conversion");
+                return null;
+            }
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+                skip(type, "field '" + columnModel.fieldName + "' is static or final");
+                return null;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                columnModel.setter = findSetter(methods, columnModel.fieldName, field.asType());
+                if (columnModel.setter == null) {
+                    skip(type, "field '" + columnModel.fieldName + "' is private and has no setter");
+                    return null;
+                }
+            }
+            if (!readValidators(field, columnModel)) {
+                return null;
+            }
+            model.columns.add(columnModel);
+        }
+        return model;
+    }
+
+    private boolean readValidators(VariableElement field, ColumnModel column) {
+        Map<String, Object> notBlank = annotation(field, NOT_BLANK);
+        if (notBlank != null) {
+            if (column.type != ValueType.STRING) {
+                return misuse(field, "@NotBlank");
+            }
+            column.notBlankMessage = (String) notBlank.get("message");
+        }
+        Map<String, Object> min = annotation(field, MIN);
+        if (min != null) {
+            if (!column.type.numeric) {
+                return misuse(field, "@Min");
+            }
+            column.min = (Long) min.get("value");
+            column.minMessage = ((String) min.get("message")).replace("{value}", String.valueOf(column.min));
+        }
+        Map<String, Object> max = annotation(field, MAX);
+        if (max != null) {
+            if (!column.type.numeric) {
+                return misuse(field, "@Max");
+            }
+            column.max = (Long) max.get("value");
+            column.maxMessage = ((String) max.get("message")).replace("{value}", String.valueOf(column.max));
+        }
+        Map<String, Object> email = annotation(field, EMAIL);
+        if (email != null) {
+            if (column.type != ValueType.STRING) {
+                return misuse(field, "@Email");
+            }
+            column.emailMessage = (String) email.get("message");
+        }
+        Map<String, Object> dateFormat = annotation(field, DATE_FORMAT);
+        column.datePattern = dateFormat != null ? (String) dateFormat.get("value") : "yyyy-MM-dd";
+        Map<String, Object> custom = annotation(field, CUSTOM_VALIDATOR);
+        if (custom != null) {
+            TypeElement validator = (TypeElement) ((DeclaredType) custom.get("value")).asElement();
+            if (!isInstantiable(validator, packageOf((TypeElement) field.getEnclosingElement()))) {
+                skip((TypeElement) field.getEnclosingElement(),
+                        "custom validator " + validator.getQualifiedName() + " needs an accessible no-arg constructor");
+                return false;
+            }
+            column.customValidator = validator.getQualifiedName().toString();
+        }
+        return true;
+    }
+
+    private String checkType(TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            return "generic schema classes are not supported";
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "the class is abstract";
+        }
+        if (!isInstantiable(type, packageOf(type))) {
+            return "it needs a non-private no-arg constructor and must not be a private or inner class";
+        }
+        return null;
+    }
+
+    // The generated mapper lives in the schema's package, so package-private access is enough there
+    private boolean isInstantiable(TypeElement type, String fromPackage) {
+        boolean samePackage = packageOf(type).equals(fromPackage);
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            Set<Modifier> modifiers = enclosing.getModifiers();
+            if (!isVisible(modifiers, samePackage)) {
+                return false;
+            }
+            if (enclosing.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC)) {
+                return false;
+            }
+            if (enclosing.getEnclosingElement() != null && enclosing.getEnclosingElement().getKind() == ElementKind.METHOD) {
+                return false;
+            }
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return isVisible(constructor.getModifiers(), samePackage);
+            }
+        }
+        return ElementFilter.constructorsIn(type.getEnclosedElements()).isEmpty();
+    }
+
+    private boolean isVisible(Set<Modifier> modifiers, boolean samePackage) {
+        return modifiers.contains(Modifier.PUBLIC) || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+    }
+
+    private String findSetter(List<ExecutableElement> methods, String fieldName, TypeMirror fieldType) {
+        String setterName = "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(setterName)
+                    && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                return setterName;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            Map<String, Object> values = new HashMap<>();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+            }
+            return values;
+        }
+        return null;
+    }
+
+    private boolean misuse(VariableElement field, String annotation) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                annotation + " is not supported on a field of type " + field.asType(), field);
+        return false;
+    }
+
+    private void skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Parsefy mapper not generated for " + type.getQualifiedName() + ": " + reason
+                        + ". It will be parsed through SchemaReader instead.", type);
+    }
+
+    private String packageOf(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    private String mapperSimpleName(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String packageName = packageOf(type);
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return simpleName.replace('$', '_') + MAPPER_SUFFIX;
+    }
+
+    private void write(MapperModel model) throws IOException {
+        String qualifiedName = model.packageName.isEmpty()
+                ? model.mapperName
+                : model.packageName + "." + model.mapperName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, model.type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(new MapperWriter(model).render());
+        }
+    }
+
+    enum ValueType {
+        STRING("String", null, false, false),
+        INT("int", "Integer.parseInt", true, true),
+        INTEGER("Integer", "Integer.valueOf", false, true),
+        LONG("long", "Long.parseLong", true, true),
+        LONG_BOXED("Long", "Long.valueOf", false, true),
+        DOUBLE("double", "Double.parseDouble", true, true),
+        DOUBLE_BOXED("Double", "Double.valueOf", false, true),
+        BIG_DECIMAL("java.math.BigDecimal", "new java.math.BigDecimal", false, true),
+        BOOLEAN("boolean", "Boolean.parseBoolean", true, false),
+        BOOLEAN_BOXED("Boolean", "Boolean.valueOf", false, false),
+        LOCAL_DATE("java.time.LocalDate", null, false, false);
+
+        final String javaType;
+        final String parser;
+        final boolean primitive;
+        final boolean numeric;
+
+        ValueType(String javaType, String parser, boolean primitive, boolean numeric) {
+            this.javaType = javaType;
+            this.parser = parser;
+            this.primitive = primitive;
+            this.numeric = numeric;
+        }
+
+        String simpleName() {
+            return javaType.substring(javaType.lastIndexOf('.') + 1);
+        }
+
+        static ValueType of(TypeMirror type) {
+            if (type.getKind() == TypeKind.INT) return INT;
+            if (type.getKind() == TypeKind.LONG) return LONG;
+            if (type.getKind() == TypeKind.DOUBLE) return DOUBLE;
+            if (type.getKind() == TypeKind.BOOLEAN) return BOOLEAN;
+            if (type.getKind() != TypeKind.DECLARED) return null;
+            String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            switch (name) {
+                case "java.lang.String":
+                    return STRING;
+                case "java.lang.Integer":
+                    return INTEGER;
+                case "java.lang.Long":
+                    return LONG_BOXED;
+                case "java.lang.Double":
+                    return DOUBLE_BOXED;
+                case "java.math.BigDecimal":
+                    return BIG_DECIMAL;
+                case "java.lang.Boolean":
+                    return BOOLEAN_BOXED;
+                case "java.time.LocalDate":
+                    return LOCAL_DATE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    static class MapperModel {
+        final TypeElement type;
+        final String packageName;
+        final String mapperName;
+        final List<ColumnModel> columns = new ArrayList<>();
+
+        MapperModel(TypeElement type, String packageName, String mapperName) {
+            this.type = type;
+            this.packageName = packageName;
+            this.mapperName = mapperName;
+        }
+    }
+
+    static class ColumnModel {
+        final String fieldName;
+        final String columnName;
+        final boolean required;
+        ValueType type;
+        String setter;
+        String notBlankMessage;
+        Long min;
+        String minMessage;
+        Long max;
+        String maxMessage;
+        String emailMessage;
+        String datePattern;
+        String customValidator;
+
+        ColumnModel(String fieldName, String columnName, boolean required) {
+            this.fieldName = fieldName;
+            this.columnName = columnName;
+            this.required = required;
+        }
+    }
+}
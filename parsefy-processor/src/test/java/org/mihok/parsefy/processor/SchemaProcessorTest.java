@@ -0,0 +1,91 @@
+package org.mihok.parsefy.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowMappers;
+
+import javax.tools.*;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaProcessorTest {
+
+    private static final String PERSON = "package sample;\n"
+            + "import org.mihok.parsefy.*;\n"
+            + "@CsvSchema\n"
+            + "public class Person {\n"
+            + "    @NotBlank @CsvColumn(name = \"name\", required = true) String name;\n"
+            + "    @Min(18) @Max(30) @CsvColumn(name = \"age\") int age;\n"
+            + "    @Email @CsvColumn(name = \"email\") private String email;\n"
+            + "    @DateFormat(\"yyyyMMdd\") @CsvColumn(name = \"joined\") java.time.LocalDate joined;\n"
+            + "    public void setEmail(String email) { this.email = email; }\n"
+            + "    public String getName() { return name; }\n"
+            + "}\n";
+
+    private static final String HIDDEN = "package sample;\n"
+            + "import org.mihok.parsefy.*;\n"
+            + "@CsvSchema\n"
+            + "public class Hidden {\n"
+            + "    @CsvColumn(name = \"name\") private String name;\n"
+            + "}\n";
+
+    @Test
+    void shouldGenerateMapperThatParsefyPicksUp(@TempDir Path output) throws Exception {
+        String diagnostics = compile(output, source("sample.Person", PERSON));
+        assertTrue(Files.exists(output.resolve("sample/Person_ParsefyMapper.class")), diagnostics);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> person = loader.loadClass("sample.Person");
+            assertNotNull(RowMappers.find(person));
+
+            String csv = "name,age,email,joined\nmario,25,mario@mail.com,20240115\nbudi,35,budi,20240116";
+            ParsefyResult<?> result = Parsefy.builder(person).strictMode(false).parse(csv).getResult();
+
+            assertEquals(1, result.getValidRows().size());
+            assertEquals(1, result.getErrors().size());
+            assertEquals(Arrays.asList("Value must be less than or equal to 30", "Invalid email format"),
+                    result.getErrors().get(0).getErrors());
+        }
+    }
+
+    @Test
+    void shouldSkipPrivateFieldsWithoutSetter(@TempDir Path output) throws Exception {
+        String diagnostics = compile(output, source("sample.Hidden", HIDDEN));
+
+        assertFalse(Files.exists(output.resolve("sample/Hidden_ParsefyMapper.class")));
+        assertTrue(diagnostics.contains("is private and has no setter"), diagnostics);
+    }
+
+    private static String compile(Path output, JavaFileObject source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter diagnostics = new StringWriter();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, files, null,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path")), null,
+                    Collections.singletonList(source));
+            task.setProcessors(Collections.singletonList(new SchemaProcessor()));
+            assertTrue(task.call(), diagnostics.toString());
+        }
+        return diagnostics.toString();
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
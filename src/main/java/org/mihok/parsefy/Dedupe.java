@@ -0,0 +1,14 @@
+package org.mihok.parsefy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// For low-cardinality String columns (country codes, currencies, status flags): equal values share
+// one String instance per parse. maxSize bounds the number of distinct values kept
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Dedupe {
+    int maxSize() default 1024;
+}
@@ -0,0 +1,184 @@
+package org.mihok.parsefy.converter;
+
+import java.math.BigDecimal;
+
+// Parses numbers straight from a CharSequence (usually a tokenizer cell view) without building a String.
+// Anything outside the simple fast-path shapes falls back to the JDK parser, so results and errors
+// are the same as Integer.parseInt, Long.parseLong, Double.parseDouble and new BigDecimal.
+public final class CharParsers {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long SLOW_PATH = Long.MIN_VALUE;
+
+    private CharParsers() {
+    }
+
+    public static int parseInt(CharSequence value) {
+        long result = parseLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return result == SLOW_PATH ? Integer.parseInt(value.toString()) : (int) result;
+    }
+
+    public static long parseLong(CharSequence value) {
+        long result = parseLong(value, Long.MIN_VALUE + 1, Long.MAX_VALUE);
+        return result == SLOW_PATH ? Long.parseLong(value.toString()) : result;
+    }
+
+    // Accumulates negatively like Long.parseLong. Errors, non-ASCII digits and Long.MIN_VALUE itself
+    // return SLOW_PATH so the JDK parser produces the exact result or exception
+    private static long parseLong(CharSequence value, long min, long max) {
+        int length = value.length();
+        if (length == 0) {
+            return SLOW_PATH;
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (length == 1) {
+                return SLOW_PATH;
+            }
+            i++;
+        }
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return SLOW_PATH;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return SLOW_PATH;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    public static double parseDouble(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean dot = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa != 0 || c != '0') {
+                    if (++significantDigits > MAX_EXACT_DOUBLE_DIGITS) {
+                        return Double.parseDouble(value.toString());
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (dot) {
+                    exponent--;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else if ((c == 'e' || c == 'E') && digits > 0) {
+                int exponentValue = parseExponent(value, i + 1);
+                if (exponentValue == Integer.MIN_VALUE) {
+                    return Double.parseDouble(value.toString());
+                }
+                exponent += exponentValue;
+                break;
+            } else {
+                return Double.parseDouble(value.toString());
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(value.toString());
+        }
+        double result;
+        if (mantissa == 0) {
+            result = 0d;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.parseDouble(value.toString());
+        }
+        return negative ? -result : result;
+    }
+
+    // Returns Integer.MIN_VALUE when the exponent is not a short plain integer
+    private static int parseExponent(CharSequence value, int start) {
+        int length = value.length();
+        int i = start;
+        boolean negative = false;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i) == '-';
+            i++;
+        }
+        if (i == length || length - i > 3) {
+            return Integer.MIN_VALUE;
+        }
+        int result = 0;
+        for (; i < length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.MIN_VALUE;
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    // Plain decimals of up to 18 digits are built from an unscaled long, keeping the scale new BigDecimal would
+    public static BigDecimal parseBigDecimal(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return new BigDecimal(value.toString());
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (dot) {
+                    scale++;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return new BigDecimal(value.toString());
+            }
+        }
+        if (digits == 0) {
+            return new BigDecimal(value.toString());
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    public static boolean parseBoolean(CharSequence value) {
+        return value.length() == 4
+                && (value.charAt(0) | 0x20) == 't'
+                && (value.charAt(1) | 0x20) == 'r'
+                && (value.charAt(2) | 0x20) == 'u'
+                && (value.charAt(3) | 0x20) == 'e';
+    }
+}
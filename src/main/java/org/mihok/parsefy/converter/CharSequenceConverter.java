@@ -0,0 +1,12 @@
+package org.mihok.parsefy.converter;
+
+// A converter that can read a tokenizer cell view directly, without materializing it as a String first
+@FunctionalInterface
+public interface CharSequenceConverter<T> extends Converter<T> {
+    T convert(CharSequence value) throws Exception;
+
+    @Override
+    default T convert(String value) throws Exception {
+        return convert((CharSequence) value);
+    }
+}
@@ -0,0 +1,7 @@
+package org.mihok.parsefy.converter;
+
+// Receives a trimmed, non-empty cell value; blank cells never reach a converter and map to null
+@FunctionalInterface
+public interface Converter<T> {
+    T convert(String value) throws Exception;
+}
@@ -0,0 +1,28 @@
+package org.mihok.parsefy.converter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// User-registered converters, consulted before the built-ins in Converters
+public class ConverterRegistry {
+    private final Map<Class<?>, Converter<?>> converters = new ConcurrentHashMap<>();
+
+    public <T> ConverterRegistry register(Class<T> type, Converter<? extends T> converter) {
+        converters.put(type, converter);
+        return this;
+    }
+
+    public Converter<?> find(Class<?> type) {
+        return converters.get(type);
+    }
+
+    public ConverterRegistry copy() {
+        ConverterRegistry copy = new ConverterRegistry();
+        copy.converters.putAll(converters);
+        return copy;
+    }
+
+    public boolean isEmpty() {
+        return converters.isEmpty();
+    }
+}
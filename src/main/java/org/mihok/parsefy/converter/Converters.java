@@ -0,0 +1,82 @@
+package org.mihok.parsefy.converter;
+
+import org.mihok.parsefy.DateFormat;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public final class Converters {
+    public static final CharSequenceConverter<String> STRING = CharSequence::toString;
+    public static final CharSequenceConverter<Integer> INTEGER = CharParsers::parseInt;
+    public static final CharSequenceConverter<Long> LONG = CharParsers::parseLong;
+    public static final CharSequenceConverter<Double> DOUBLE = CharParsers::parseDouble;
+    public static final CharSequenceConverter<BigDecimal> BIG_DECIMAL = CharParsers::parseBigDecimal;
+    public static final CharSequenceConverter<Boolean> BOOLEAN = CharParsers::parseBoolean;
+
+    private static final String DEFAULT_DATE_PATTERN = "yyyy-MM-dd";
+    private static final Converter<LocalDate> DEFAULT_DATE = dateConverter(DEFAULT_DATE_PATTERN);
+    private static final Map<Class<?>, Converter<?>> BUILT_IN = new HashMap<>();
+
+    static {
+        BUILT_IN.put(String.class, STRING);
+        BUILT_IN.put(Integer.class, INTEGER);
+        BUILT_IN.put(int.class, INTEGER);
+        BUILT_IN.put(Long.class, LONG);
+        BUILT_IN.put(long.class, LONG);
+        BUILT_IN.put(Double.class, DOUBLE);
+        BUILT_IN.put(double.class, DOUBLE);
+        BUILT_IN.put(BigDecimal.class, BIG_DECIMAL);
+        BUILT_IN.put(Boolean.class, BOOLEAN);
+        BUILT_IN.put(boolean.class, BOOLEAN);
+        BUILT_IN.put(LocalDate.class, DEFAULT_DATE);
+        BUILT_IN.put(UUID.class, UUID::fromString);
+        BUILT_IN.put(Instant.class, Instant::parse);
+    }
+
+    private Converters() {
+    }
+
+    // Resolved once per field when the schema is compiled; @DateFormat gets its own cached formatter
+    public static Converter<?> forField(Field field) {
+        if (field.getType() == LocalDate.class) {
+            DateFormat dateFormat = field.getAnnotation(DateFormat.class);
+            if (dateFormat != null && !DEFAULT_DATE_PATTERN.equals(dateFormat.value())) {
+                return dateConverter(dateFormat.value());
+            }
+        }
+        return forType(field.getType());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Converter<?> forType(Class<?> type) {
+        Converter<?> converter = BUILT_IN.get(type);
+        if (converter == null && type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            converter = value -> Enum.valueOf(enumType, value);
+        }
+        return converter;
+    }
+
+    public static Converter<LocalDate> dateConverter(String pattern) {
+        return new LocalDateConverter(pattern);
+    }
+
+    public static Object convert(Converter<?> converter, String value, Class<?> targetType) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (converter == null) {
+            throw new RuntimeException("Unsupported type: " + targetType);
+        }
+        try {
+            return converter.convert(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to convert value '" + value + "' to type " + targetType.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.mihok.parsefy.converter;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+
+// Patterns made only of yyyy, MM, dd and literal separators (yyyy-MM-dd, dd/MM/yyyy, yyyyMMdd, ...) are read
+// digit by digit. Other patterns, and any value the fast path rejects, go through the DateTimeFormatter,
+// which keeps its SMART resolution (e.g. 2024-04-31 becomes 2024-04-30) and its error messages.
+public class LocalDateConverter implements CharSequenceConverter<LocalDate> {
+    private static final long DAYS_0000_TO_1970 = 719528;
+    private final DateTimeFormatter formatter;
+    private final String pattern;
+    private final int yearAt;
+    private final int monthAt;
+    private final int dayAt;
+
+    public LocalDateConverter(String pattern) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        this.pattern = pattern;
+        this.yearAt = fixedField(pattern, "yyyy", 'y');
+        this.monthAt = fixedField(pattern, "MM", 'M');
+        this.dayAt = fixedField(pattern, "dd", 'd');
+    }
+
+    private static int fixedField(String pattern, String field, char letter) {
+        int at = pattern.indexOf(field);
+        if (at < 0 || pattern.indexOf(letter, at + field.length()) >= 0 || pattern.indexOf(letter) != at) {
+            return -1;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'' || (Character.isLetter(c) && c != 'y' && c != 'M' && c != 'd')) {
+                return -1;
+            }
+        }
+        return at;
+    }
+
+    @Override
+    public LocalDate convert(CharSequence value) {
+        int date = parseFixed(value);
+        if (date >= 0) {
+            return LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+        }
+        return LocalDate.parse(value, formatter);
+    }
+
+    // Days since 1970-01-01, without creating a LocalDate when the fast path applies
+    public long toEpochDay(CharSequence value) {
+        int date = parseFixed(value);
+        if (date < 0) {
+            return LocalDate.parse(value, formatter).toEpochDay();
+        }
+        long year = date / 10000;
+        int month = date / 100 % 100;
+        // Same computation as LocalDate.toEpochDay for years from 1 on
+        long days = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400
+                + (367 * month - 362) / 12 + date % 100 - 1;
+        if (month > 2) {
+            days -= Year.isLeap(year) ? 1 : 2;
+        }
+        return days - DAYS_0000_TO_1970;
+    }
+
+    // The date packed as yyyyMMdd, or -1 when the fast path does not apply
+    private int parseFixed(CharSequence value) {
+        if (yearAt < 0 || monthAt < 0 || dayAt < 0 || value.length() != pattern.length()) {
+            return -1;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != 'y' && c != 'M' && c != 'd' && value.charAt(i) != c) {
+                return -1;
+            }
+        }
+        int year = digits(value, yearAt, 4);
+        int month = digits(value, monthAt, 2);
+        int day = digits(value, dayAt, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return -1;
+        }
+        int lengthOfMonth = Month.of(month).length(Year.isLeap(year));
+        return year * 10000 + month * 100 + Math.min(day, lengthOfMonth);
+    }
+
+    private static int digits(CharSequence value, int at, int count) {
+        int result = 0;
+        for (int i = at; i < at + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
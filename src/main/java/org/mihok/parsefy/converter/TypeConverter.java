@@ -1,46 +1,31 @@
 package org.mihok.parsefy.converter;
 
-import org.mihok.parsefy.DateFormat;
-
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TypeConverter {
+    // Resolved once per field like SchemaReader does, so a @DateFormat pattern is not compiled again for every value.
+    // Kept per declaring class so the cache does not pin the class loader
+    private static final ClassValue<Map<Field, Converter<?>>> FIELD_CONVERTERS = new ClassValue<Map<Field, Converter<?>>>() {
+        @Override
+        protected Map<Field, Converter<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static Object convert(String value, Class<?> targetType, Field field) throws RuntimeException {
-        if (value == null || value.trim().isEmpty()) {
+        if (value == null) {
             return null;
         }
+        Converter<?> converter = field != null && field.getType() == targetType
+                ? forField(field)
+                : Converters.forType(targetType);
+        return Converters.convert(converter, value.trim(), targetType);
+    }
 
-        value = value.trim();
-        try {
-            if (targetType.equals(String.class)) {
-                return value;
-            }
-            if (targetType.equals(Integer.class) || targetType.equals(int.class)) {
-                return Integer.parseInt(value);
-            }
-            if (targetType == Long.class || targetType == long.class) {
-                return Long.parseLong(value);
-            }
-            if (targetType == Double.class || targetType == double.class) {
-                return Double.parseDouble(value);
-            }
-            if (targetType == BigDecimal.class) {
-                return new BigDecimal(value);
-            }
-            if (targetType == Boolean.class || targetType == boolean.class) {
-                return Boolean.parseBoolean(value);
-            }
-            if (targetType == LocalDate.class) {
-                DateFormat dateFormat = field.getAnnotation(DateFormat.class);
-                String pattern = dateFormat != null ? dateFormat.value() : "yyyy-MM-dd";
-                return LocalDate.parse(value, DateTimeFormatter.ofPattern(pattern));
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to convert value '" + value + "' to type " + targetType.getSimpleName(), e);
-        }
-        throw new RuntimeException("Unsupported type: " + targetType);
+    // Unsupported types resolve to null, which is not cached and simply looked up again
+    private static Converter<?> forField(Field field) {
+        return FIELD_CONVERTERS.get(field.getDeclaringClass()).computeIfAbsent(field, Converters::forField);
     }
 }
@@ -0,0 +1,320 @@
+package org.mihok.parsefy.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+// Decompresses on a background thread into a fixed set of reusable buffers, so inflating overlaps with
+// parsing. The reader hands each buffer back once it has been read; while none are free the background
+// thread waits, which bounds the read-ahead.
+// BGZF input (gzip members of at most 64 KB that carry their own compressed size, as written by bgzip)
+// can be split without inflating it, so its members are inflated in parallel and put back in order.
+final class BackgroundInflater extends InputStream {
+    private static final int STREAM_BUFFER_SIZE = 256 * 1024;
+    private static final int STREAM_BUFFERS = 4;
+    private static final int BGZF_MAX_SIZE = 64 * 1024;
+    private static final int BLOCKS_PER_THREAD = 4;
+    private static final int GZIP_HEADER_SIZE = 12;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int FEXTRA = 4;
+    private static final Block END = new Block(new byte[0], 0);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final InputStream source;
+    private final BlockingQueue<byte[]> free;
+    private final BlockingQueue<Future<Block>> filled = new LinkedBlockingQueue<>();
+    private final ExecutorService pool;
+    private final boolean ownsPool;
+    private Thread producer;
+    private Block current;
+    private int position;
+    private volatile boolean closed;
+
+    private BackgroundInflater(InputStream source, int buffers, int bufferSize, ExecutorService pool, boolean ownsPool) {
+        this.source = source;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            free.add(new byte[bufferSize]);
+        }
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    // Reads a decompressing stream (GZIPInputStream, InflaterInputStream) ahead of the caller
+    static BackgroundInflater stream(InputStream decompressed) {
+        BackgroundInflater inflater = new BackgroundInflater(decompressed, STREAM_BUFFERS, STREAM_BUFFER_SIZE, null, false);
+        inflater.start(() -> inflater.readAhead(decompressed));
+        return inflater;
+    }
+
+    // Members are inflated on executor, or on a pool of threads owned by this stream when it is null
+    static BackgroundInflater bgzf(InputStream source, int threads, ExecutorService executor) {
+        BackgroundInflater inflater = new BackgroundInflater(source, threads * BLOCKS_PER_THREAD, BGZF_MAX_SIZE,
+                executor != null ? executor : new ForkJoinPool(threads), executor == null);
+        inflater.start(inflater::splitMembers);
+        return inflater;
+    }
+
+    // BGZF marks its members with a 'BC' extra subfield holding the member size
+    static boolean isBgzf(byte[] head, int length) {
+        return length >= 18 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b && head[2] == 8
+                && (head[3] & FEXTRA) != 0 && memberSize(head, GZIP_HEADER_SIZE, unsignedShort(head, 10)) > 0;
+    }
+
+    private interface Producer {
+        void run() throws IOException, InterruptedException;
+    }
+
+    private void start(Producer task) {
+        producer = new Thread(() -> produce(task), "parsefy-inflater-" + THREAD_COUNT.incrementAndGet());
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(Producer task) {
+        try {
+            task.run();
+            filled.add(CompletableFuture.completedFuture(END));
+        } catch (InterruptedException e) {
+            // Closed by the reader
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                CompletableFuture<Block> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                filled.add(failure);
+            }
+        }
+    }
+
+    private void readAhead(InputStream decompressed) throws IOException, InterruptedException {
+        while (!closed) {
+            byte[] buffer = free.take();
+            int length = 0;
+            int read = 0;
+            while (length < buffer.length && (read = decompressed.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+            }
+            filled.add(CompletableFuture.completedFuture(new Block(buffer, length)));
+            if (read < 0) {
+                return;
+            }
+        }
+    }
+
+    private void splitMembers() throws IOException, InterruptedException {
+        long offset = 0;
+        byte[] member;
+        while (!closed && (member = readMember(offset)) != null) {
+            byte[] buffer = free.take();
+            byte[] compressed = member;
+            long memberOffset = offset;
+            // Completed by hand, ForkJoinPool would wrap the ZipException of a corrupt member
+            CompletableFuture<Block> block = new CompletableFuture<>();
+            pool.execute(() -> {
+                try {
+                    block.complete(inflate(compressed, buffer, memberOffset));
+                } catch (IOException | RuntimeException e) {
+                    block.completeExceptionally(e);
+                }
+            });
+            filled.add(block);
+            offset += member.length;
+        }
+    }
+
+    // The whole member including header and trailer, or null at the end of the input
+    private byte[] readMember(long offset) throws IOException {
+        byte[] header = new byte[GZIP_HEADER_SIZE];
+        int read = readFully(source, header, 0, header.length);
+        if (read == 0) {
+            return null;
+        }
+        if (read < header.length || (header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b
+                || header[2] != 8 || (header[3] & FEXTRA) == 0) {
+            throw new ZipException("Not a BGZF member at offset " + offset);
+        }
+        int extraLength = unsignedShort(header, 10);
+        byte[] member = new byte[GZIP_HEADER_SIZE + extraLength];
+        System.arraycopy(header, 0, member, 0, header.length);
+        if (readFully(source, member, GZIP_HEADER_SIZE, extraLength) < extraLength) {
+            throw new EOFException("Truncated BGZF member at offset " + offset);
+        }
+        int size = memberSize(member, GZIP_HEADER_SIZE, extraLength);
+        if (size < member.length + GZIP_TRAILER_SIZE) {
+            throw new ZipException("Not a BGZF member at offset " + offset);
+        }
+        byte[] whole = new byte[size];
+        System.arraycopy(member, 0, whole, 0, member.length);
+        if (readFully(source, whole, member.length, size - member.length) < size - member.length) {
+            throw new EOFException("Truncated BGZF member at offset " + offset);
+        }
+        return whole;
+    }
+
+    // Size of the member from its 'BC' subfield, or -1 when the extra field has none
+    private static int memberSize(byte[] bytes, int start, int extraLength) {
+        int i = start;
+        int end = start + extraLength;
+        while (i + 4 <= end && i + 4 <= bytes.length) {
+            int subfieldLength = unsignedShort(bytes, i + 2);
+            if (bytes[i] == 'B' && bytes[i + 1] == 'C' && subfieldLength == 2 && i + 6 <= bytes.length) {
+                return unsignedShort(bytes, i + 4) + 1;
+            }
+            i += 4 + subfieldLength;
+        }
+        return -1;
+    }
+
+    private static Block inflate(byte[] member, byte[] buffer, long offset) throws IOException {
+        int dataStart = GZIP_HEADER_SIZE + unsignedShort(member, 10);
+        int trailer = member.length - GZIP_TRAILER_SIZE;
+        long expectedCrc = unsignedInt(member, trailer);
+        long expectedSize = unsignedInt(member, trailer + 4);
+        if (expectedSize > buffer.length) {
+            throw new ZipException("BGZF member at offset " + offset + " inflates to more than 64 KB");
+        }
+        Inflater inflater = new Inflater(true);
+        int length = 0;
+        try {
+            inflater.setInput(member, dataStart, trailer - dataStart);
+            while (!inflater.finished() && length < buffer.length) {
+                int inflated = inflater.inflate(buffer, length, buffer.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (!inflater.finished()) {
+                throw new ZipException("Corrupt BGZF member at offset " + offset);
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt BGZF member at offset " + offset + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer, 0, length);
+        if (length != expectedSize || crc.getValue() != expectedCrc) {
+            throw new ZipException("Corrupt BGZF member at offset " + offset + ": size or CRC does not match");
+        }
+        return new Block(buffer, length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current.data[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || position == current.length) {
+            if (current == END) {
+                return false;
+            }
+            if (current != null) {
+                free.add(current.data);
+            }
+            current = null;
+            position = 0;
+            current = take();
+        }
+        return true;
+    }
+
+    private Block take() throws IOException {
+        try {
+            return filled.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for decompressed input");
+        } catch (ExecutionException e) {
+            current = END;
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        for (Future<Block> block : filled) {
+            block.cancel(false);
+        }
+        if (ownsPool) {
+            pool.shutdownNow();
+        }
+        source.close();
+    }
+
+    private static int readFully(InputStream in, byte[] bytes, int offset, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = in.read(bytes, offset + total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static int unsignedShort(byte[] bytes, int index) {
+        return (bytes[index] & 0xff) | (bytes[index + 1] & 0xff) << 8;
+    }
+
+    private static long unsignedInt(byte[] bytes, int index) {
+        return unsignedShort(bytes, index) | (long) unsignedShort(bytes, index + 2) << 16;
+    }
+
+    private static final class Block {
+        private final byte[] data;
+        private final int length;
+
+        Block(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.mihok.parsefy.core;
+
+import java.util.List;
+
+// Receives parsed rows in fixed-size batches on the parsing thread, so a slow consumer slows the parse down.
+// The lists are reused for the next batch - copy them if they must outlive the call
+@FunctionalInterface
+public interface BatchSink<T> {
+    void rows(List<T> batch) throws Exception;
+
+    default void errors(List<RowError> batch) throws Exception {
+    }
+}
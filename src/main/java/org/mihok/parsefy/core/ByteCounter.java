@@ -0,0 +1,6 @@
+package org.mihok.parsefy.core;
+
+// A Reader that decodes bytes itself and knows how many of them it has consumed
+interface ByteCounter {
+    long bytesRead();
+}
@@ -0,0 +1,81 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.converter.CharParsers;
+import org.mihok.parsefy.converter.CharSequenceConverter;
+import org.mihok.parsefy.converter.Converter;
+import org.mihok.parsefy.converter.Converters;
+
+// Converts one cell and writes it into its field. Built-in numeric conversions into primitive fields
+// parse the cell view directly and use the unboxed setters, so no String or wrapper is created.
+final class CellBinder {
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int BOOLEAN = 3;
+    private static final int SEQUENCE = 4;
+    private static final int STRING = 5;
+    private static final int DEDUPE = 6;
+
+    private final FieldAccessor accessor;
+    private final Converter<?> converter;
+    private final StringDeduplicator deduplicator;
+    private final int kind;
+
+    CellBinder(FieldAccessor accessor, Converter<?> converter) {
+        this(accessor, converter, null);
+    }
+
+    CellBinder(FieldAccessor accessor, Converter<?> converter, StringDeduplicator deduplicator) {
+        this.accessor = accessor;
+        this.converter = converter;
+        this.deduplicator = deduplicator;
+        this.kind = kindOf(accessor.getType(), converter, deduplicator);
+    }
+
+    // A converter registered for String replaces deduplication
+    private static int kindOf(Class<?> type, Converter<?> converter, StringDeduplicator deduplicator) {
+        if (deduplicator != null && converter == Converters.STRING) return DEDUPE;
+        if (type == int.class && converter == Converters.INTEGER) return INT;
+        if (type == long.class && converter == Converters.LONG) return LONG;
+        if (type == double.class && converter == Converters.DOUBLE) return DOUBLE;
+        if (type == boolean.class && converter == Converters.BOOLEAN) return BOOLEAN;
+        if (converter instanceof CharSequenceConverter) return SEQUENCE;
+        return STRING;
+    }
+
+    void bind(Object instance, CharSequence value) {
+        if (value.length() == 0) {
+            accessor.set(instance, null);
+            return;
+        }
+        if (converter == null) {
+            throw new RuntimeException("Unsupported type: " + accessor.getType());
+        }
+        try {
+            switch (kind) {
+                case INT:
+                    accessor.setInt(instance, CharParsers.parseInt(value));
+                    break;
+                case LONG:
+                    accessor.setLong(instance, CharParsers.parseLong(value));
+                    break;
+                case DOUBLE:
+                    accessor.setDouble(instance, CharParsers.parseDouble(value));
+                    break;
+                case BOOLEAN:
+                    accessor.setBoolean(instance, CharParsers.parseBoolean(value));
+                    break;
+                case DEDUPE:
+                    accessor.set(instance, deduplicator.dedupe(value));
+                    break;
+                case SEQUENCE:
+                    accessor.set(instance, ((CharSequenceConverter<?>) converter).convert(value));
+                    break;
+                default:
+                    accessor.set(instance, converter.convert(value.toString()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to convert value '" + value + "' to type " + accessor.getType().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.mihok.parsefy.core;
+
+// Position after the last fully parsed record: byteOffset is the first byte of the next record and
+// recordNumber the number of records before it. Checkpoints are only taken between records, so a
+// resumed parse never starts inside a quoted field
+public final class Checkpoint {
+    private final long byteOffset;
+    private final long recordNumber;
+
+    public Checkpoint(long byteOffset, long recordNumber) {
+        if (byteOffset < 0 || recordNumber < 0) {
+            throw new IllegalArgumentException("Checkpoint offset and record number must not be negative, got "
+                    + byteOffset + " and " + recordNumber);
+        }
+        this.byteOffset = byteOffset;
+        this.recordNumber = recordNumber;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint[byte " + byteOffset + ", record " + recordNumber + "]";
+    }
+}
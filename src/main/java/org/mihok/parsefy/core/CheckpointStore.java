@@ -0,0 +1,20 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Where a checkpointed parse keeps its progress. save is called after the rows and errors before the
+// checkpoint have been handed over, clear once the whole file has been parsed
+public interface CheckpointStore {
+    // The last saved checkpoint, or null to start at the top of the file
+    Checkpoint load() throws IOException;
+
+    void save(Checkpoint checkpoint) throws IOException;
+
+    void clear() throws IOException;
+
+    // Keeps the checkpoint in a small properties file that is replaced atomically on every save
+    static CheckpointStore file(Path file) {
+        return new FileCheckpointStore(file);
+    }
+}
@@ -0,0 +1,688 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.converter.CharParsers;
+import org.mihok.parsefy.converter.CharSequenceConverter;
+import org.mihok.parsefy.converter.Converter;
+import org.mihok.parsefy.converter.Converters;
+import org.mihok.parsefy.converter.LocalDateConverter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+// All values of one schema field in a columnar parse. Built-in numbers, booleans and dates are stored
+// unboxed, strings as codes into a dictionary of distinct values, or as plain strings once there are too many.
+// Missing cells, and empty cells of non-primitive fields, are null and recorded in a bitmap; the primitive slot
+// of a null row holds 0.
+// The arrays returned by values(), codes() etc. are the column's own storage, trimmed to size() once the parse ends.
+public abstract class Column {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final String name;
+    private final Class<?> type;
+    private final BitSet nulls = new BitSet();
+    int size;
+
+    Column(String name, Class<?> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    static Column of(String name, Class<?> type, Converter<?> converter) {
+        if (converter == Converters.INTEGER) return new IntColumn(name, type);
+        if (converter == Converters.LONG) return new LongColumn(name, type);
+        if (converter == Converters.DOUBLE) return new DoubleColumn(name, type);
+        if (converter == Converters.BOOLEAN) return new BooleanColumn(name, type);
+        if (converter == Converters.STRING) return new StringColumn(name, type);
+        if (converter instanceof LocalDateConverter) return new DateColumn(name, type, (LocalDateConverter) converter);
+        return new ObjectColumn(name, type, converter);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // The schema field's type
+    public Class<?> getType() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    // Boxed value, null for null rows
+    public abstract Object get(int row);
+
+    // Same rules and messages as binding the cell to a field
+    void appendCell(CharSequence value) {
+        if (value.length() == 0) {
+            appendNull();
+            return;
+        }
+        if (!isSupported()) {
+            throw new RuntimeException("Unsupported type: " + type);
+        }
+        try {
+            append(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to convert value '" + value + "' to type " + type.getSimpleName(), e);
+        }
+    }
+
+    // Converts the cell and appends it; on failure the column is left unchanged
+    abstract void append(CharSequence value) throws Exception;
+
+    boolean isSupported() {
+        return true;
+    }
+
+    void appendNull() {
+        ensureCapacity(size + 1);
+        nulls.set(size);
+        size++;
+    }
+
+    // Drops the rows from rows on, used to take back a row that failed validation
+    void truncate(int rows) {
+        if (size > rows) {
+            nulls.clear(rows, size);
+            size = rows;
+        }
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > capacity()) {
+            resize(Math.max(capacity, Math.max(INITIAL_CAPACITY, capacity() * 2)));
+        }
+    }
+
+    void finish() {
+        if (capacity() != size) {
+            resize(size);
+        }
+    }
+
+    abstract int capacity();
+
+    abstract void resize(int capacity);
+
+    boolean isIntegral() {
+        return false;
+    }
+
+    boolean isFloatingPoint() {
+        return false;
+    }
+
+    long longValue(int row) {
+        throw new UnsupportedOperationException(name + " is not an integral column");
+    }
+
+    double doubleValue(int row) {
+        throw new UnsupportedOperationException(name + " is not a floating-point column");
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for column '" + name + "' with " + size + " rows");
+        }
+    }
+
+    public static final class IntColumn extends Column {
+        private int[] values = new int[0];
+
+        IntColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        public int getInt(int row) {
+            checkRow(row);
+            return values[row];
+        }
+
+        public int[] values() {
+            return values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void append(CharSequence value) {
+            int parsed = CharParsers.parseInt(value);
+            ensureCapacity(size + 1);
+            values[size++] = parsed;
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            values[size - 1] = 0;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        boolean isIntegral() {
+            return true;
+        }
+
+        @Override
+        long longValue(int row) {
+            return values[row];
+        }
+    }
+
+    public static final class LongColumn extends Column {
+        private long[] values = new long[0];
+
+        LongColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        public long getLong(int row) {
+            checkRow(row);
+            return values[row];
+        }
+
+        public long[] values() {
+            return values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void append(CharSequence value) {
+            long parsed = CharParsers.parseLong(value);
+            ensureCapacity(size + 1);
+            values[size++] = parsed;
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            values[size - 1] = 0;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        boolean isIntegral() {
+            return true;
+        }
+
+        @Override
+        long longValue(int row) {
+            return values[row];
+        }
+    }
+
+    public static final class DoubleColumn extends Column {
+        private double[] values = new double[0];
+
+        DoubleColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        public double getDouble(int row) {
+            checkRow(row);
+            return values[row];
+        }
+
+        public double[] values() {
+            return values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void append(CharSequence value) {
+            double parsed = CharParsers.parseDouble(value);
+            ensureCapacity(size + 1);
+            values[size++] = parsed;
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            values[size - 1] = 0;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        boolean isFloatingPoint() {
+            return true;
+        }
+
+        @Override
+        double doubleValue(int row) {
+            return values[row];
+        }
+    }
+
+    public static final class BooleanColumn extends Column {
+        private final BitSet values = new BitSet();
+        private int capacity;
+
+        BooleanColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        public boolean getBoolean(int row) {
+            checkRow(row);
+            return values.get(row);
+        }
+
+        // Set bits are the true rows
+        public BitSet values() {
+            return values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values.get(row);
+        }
+
+        @Override
+        void append(CharSequence value) {
+            ensureCapacity(size + 1);
+            values.set(size++, CharParsers.parseBoolean(value));
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            values.clear(size - 1);
+        }
+
+        @Override
+        void truncate(int rows) {
+            if (size > rows) {
+                values.clear(rows, size);
+            }
+            super.truncate(rows);
+        }
+
+        @Override
+        int capacity() {
+            return capacity;
+        }
+
+        @Override
+        void resize(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    // Dates as days since 1970-01-01, see LocalDate.ofEpochDay
+    public static final class DateColumn extends Column {
+        private final LocalDateConverter converter;
+        private int[] epochDays = new int[0];
+
+        DateColumn(String name, Class<?> type, LocalDateConverter converter) {
+            super(name, type);
+            this.converter = converter;
+        }
+
+        public int getEpochDay(int row) {
+            checkRow(row);
+            return epochDays[row];
+        }
+
+        public int[] epochDays() {
+            return epochDays;
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : LocalDate.ofEpochDay(epochDays[row]);
+        }
+
+        @Override
+        void append(CharSequence value) {
+            int epochDay = Math.toIntExact(converter.toEpochDay(value));
+            ensureCapacity(size + 1);
+            epochDays[size++] = epochDay;
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            epochDays[size - 1] = 0;
+        }
+
+        @Override
+        int capacity() {
+            return epochDays.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            epochDays = Arrays.copyOf(epochDays, capacity);
+        }
+    }
+
+    // Each distinct value is stored once and rows hold its index in dictionary(), -1 for null.
+    // Cells are looked up by content, so a String is only created the first time a value is seen.
+    // A column with more than PLAIN_THRESHOLD distinct values that are over half of its rows would cost more
+    // as a dictionary than as plain strings, so from then on it keeps one String per row in values() instead
+    public static final class StringColumn extends Column {
+        private static final int NULL_CODE = -1;
+        private static final int PLAIN_THRESHOLD = 4096;
+
+        private int[] codes = new int[0];
+        private String[] dictionary = new String[16];
+        // Row each dictionary entry was first seen in, so truncated rows take their new entries with them
+        private int[] firstRows = new int[16];
+        private int dictionarySize;
+        // Open addressing over dictionary indexes + 1, 0 marks a free slot
+        private int[] table = new int[32];
+        // Set once the column stops encoding, then codes, dictionary and table are dropped
+        private String[] values;
+
+        StringColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        public boolean isDictionaryEncoded() {
+            return values == null;
+        }
+
+        public int getCode(int row) {
+            checkRow(row);
+            checkEncoded();
+            return codes[row];
+        }
+
+        public String getString(int row) {
+            checkRow(row);
+            if (values != null) {
+                return values[row];
+            }
+            int code = codes[row];
+            return code == NULL_CODE ? null : dictionary[code];
+        }
+
+        public int[] codes() {
+            checkEncoded();
+            return codes;
+        }
+
+        // The distinct non-null values of the column's rows, in order of first appearance
+        public List<String> dictionary() {
+            checkEncoded();
+            return Collections.unmodifiableList(Arrays.asList(dictionary).subList(0, dictionarySize));
+        }
+
+        // Only for a column that is no longer dictionary-encoded, null for null rows
+        public String[] values() {
+            if (values == null) {
+                throw new IllegalStateException("Column '" + getName() + "' is dictionary-encoded, use codes() and dictionary()");
+            }
+            return values;
+        }
+
+        private void checkEncoded() {
+            if (values != null) {
+                throw new IllegalStateException("Column '" + getName() + "' has too many distinct values to be dictionary-encoded, use values()");
+            }
+        }
+
+        @Override
+        public Object get(int row) {
+            return getString(row);
+        }
+
+        @Override
+        void append(CharSequence value) {
+            if (values != null) {
+                String string = value.toString();
+                ensureCapacity(size + 1);
+                values[size++] = string;
+                return;
+            }
+            int code = lookup(value);
+            ensureCapacity(size + 1);
+            codes[size++] = code;
+            if (dictionarySize > PLAIN_THRESHOLD && dictionarySize * 2 > size && code == dictionarySize - 1) {
+                decode();
+            }
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            if (values != null) {
+                values[size - 1] = null;
+            } else {
+                codes[size - 1] = NULL_CODE;
+            }
+        }
+
+        @Override
+        void truncate(int rows) {
+            if (size > rows) {
+                if (values != null) {
+                    Arrays.fill(values, rows, size, null);
+                } else {
+                    // Entries are added in row order, the ones first seen in the dropped rows are at the end
+                    while (dictionarySize > 0 && firstRows[dictionarySize - 1] >= rows) {
+                        remove(--dictionarySize);
+                    }
+                }
+            }
+            super.truncate(rows);
+        }
+
+        private void decode() {
+            String[] decoded = new String[codes.length];
+            for (int row = 0; row < size; row++) {
+                decoded[row] = codes[row] == NULL_CODE ? null : dictionary[codes[row]];
+            }
+            values = decoded;
+            codes = null;
+            dictionary = null;
+            firstRows = null;
+            table = null;
+            dictionarySize = 0;
+        }
+
+        private int lookup(CharSequence value) {
+            int mask = table.length - 1;
+            for (int slot = spread(hash(value)) & mask; ; slot = (slot + 1) & mask) {
+                int entry = table[slot];
+                if (entry == 0) {
+                    return add(value.toString(), slot);
+                }
+                if (contentEquals(dictionary[entry - 1], value)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private int add(String value, int slot) {
+            if (dictionarySize == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+                firstRows = Arrays.copyOf(firstRows, dictionarySize * 2);
+            }
+            int code = dictionarySize++;
+            dictionary[code] = value;
+            firstRows[code] = size;
+            table[slot] = code + 1;
+            if (dictionarySize * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+            return code;
+        }
+
+        // Backward-shift deletion: later entries of the probe run move up so lookups still reach them
+        private void remove(int code) {
+            int mask = table.length - 1;
+            int slot = spread(dictionary[code].hashCode()) & mask;
+            while (table[slot] != code + 1) {
+                slot = (slot + 1) & mask;
+            }
+            for (int next = (slot + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home = spread(dictionary[table[next] - 1].hashCode()) & mask;
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    table[slot] = table[next];
+                    slot = next;
+                }
+            }
+            table[slot] = 0;
+            dictionary[code] = null;
+        }
+
+        private void rehash(int capacity) {
+            int[] rehashed = new int[capacity];
+            int mask = capacity - 1;
+            for (int code = 0; code < dictionarySize; code++) {
+                int slot = spread(dictionary[code].hashCode()) & mask;
+                while (rehashed[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                rehashed[slot] = code + 1;
+            }
+            table = rehashed;
+        }
+
+        // Same as String.hashCode, so dictionary entries rehash with their cached hash
+        private static int hash(CharSequence value) {
+            int hash = 0;
+            for (int i = 0; i < value.length(); i++) {
+                hash = 31 * hash + value.charAt(i);
+            }
+            return hash;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean contentEquals(String entry, CharSequence value) {
+            if (entry.length() != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < entry.length(); i++) {
+                if (entry.charAt(i) != value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int capacity() {
+            return values != null ? values.length : codes.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            if (values != null) {
+                values = Arrays.copyOf(values, capacity);
+            } else {
+                codes = Arrays.copyOf(codes, capacity);
+            }
+        }
+    }
+
+    // Any other type (BigDecimal, enums, UUID, custom converters) is kept as converted objects
+    public static final class ObjectColumn extends Column {
+        private final Converter<?> converter;
+        private Object[] values = new Object[0];
+
+        ObjectColumn(String name, Class<?> type, Converter<?> converter) {
+            super(name, type);
+            this.converter = converter;
+        }
+
+        public Object[] values() {
+            return values;
+        }
+
+        @Override
+        public Object get(int row) {
+            checkRow(row);
+            return values[row];
+        }
+
+        @Override
+        boolean isSupported() {
+            return converter != null;
+        }
+
+        @Override
+        void append(CharSequence value) throws Exception {
+            Object converted = converter instanceof CharSequenceConverter
+                    ? ((CharSequenceConverter<?>) converter).convert(value)
+                    : converter.convert(value.toString());
+            ensureCapacity(size + 1);
+            values[size++] = converted;
+        }
+
+        @Override
+        void appendNull() {
+            super.appendNull();
+            values[size - 1] = null;
+        }
+
+        @Override
+        void truncate(int rows) {
+            if (size > rows) {
+                Arrays.fill(values, rows, size, null);
+            }
+            super.truncate(rows);
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.exception.ParsefyException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Valid rows of a columnar parse, one Column per schema field in field order. Row i of every column
+// belongs to the same CSV record; rows that failed validation are not in the columns, only in getErrors().
+public class ColumnarResult {
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final int rowCount;
+    private final List<RowError> errors;
+    private final long filteredRows;
+
+    ColumnarResult(List<Column> columns, int rowCount, List<RowError> errors, long filteredRows) {
+        for (Column column : columns) {
+            this.columns.put(column.getName(), column);
+        }
+        this.rowCount = rowCount;
+        this.errors = errors;
+        this.filteredRows = filteredRows;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Column> getColumns() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.values()));
+    }
+
+    // By CSV column name
+    public Column getColumn(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No column '" + name + "' in " + columns.keySet());
+        }
+        return column;
+    }
+
+    // E.g. getColumn("age", Column.IntColumn.class)
+    public <C extends Column> C getColumn(String name, Class<C> kind) {
+        Column column = getColumn(name);
+        if (!kind.isInstance(column)) {
+            throw new IllegalArgumentException("Column '" + name + "' is a " + column.getClass().getSimpleName()
+                    + ", not a " + kind.getSimpleName());
+        }
+        return kind.cast(column);
+    }
+
+    // Rows dropped by the builder's filters
+    public long getFilteredRows() {
+        return filteredRows;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public void throwIfErrors() throws ParsefyException {
+        if (hasErrors()) {
+            throw new ParsefyException("Parsing failed with errors", errors);
+        }
+    }
+}
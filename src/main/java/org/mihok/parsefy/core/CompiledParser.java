@@ -0,0 +1,129 @@
+package org.mihok.parsefy.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Immutable parser built by Parsefy.compile(). Every call returns its own result and keeps its state on
+// the calling thread, so one instance can be shared by any number of concurrent parses. Converters,
+// validators, filters, the listener and the executor are shared between those parses and must be thread-safe
+public final class CompiledParser<T> {
+    // Never handed out and never configured again, only its parse methods are called
+    private final Parsefy<T> config;
+    private final Charset defaultCharset;
+
+    CompiledParser(Parsefy<T> config, Charset defaultCharset) {
+        this.config = config;
+        this.defaultCharset = defaultCharset;
+    }
+
+    public ParsefyResult<T> parse(Reader reader) throws Exception {
+        ParsefyResult<T> result = new ParsefyResult<>();
+        config.parse(reader, result);
+        return result;
+    }
+
+    public ParsefyResult<T> parse(InputStream inputStream) throws Exception {
+        return parse(inputStream, defaultCharset);
+    }
+
+    public ParsefyResult<T> parse(InputStream inputStream, Charset charset) throws Exception {
+        return parse(new DecodedReader(config.decompress(inputStream), charset));
+    }
+
+    public ParsefyResult<T> parse(String csvContent) throws Exception {
+        return parse(new StringReader(csvContent));
+    }
+
+    public ParsefyResult<T> parse(File file) throws Exception {
+        return parse(file, defaultCharset);
+    }
+
+    public ParsefyResult<T> parse(File file, Charset charset) throws Exception {
+        ParsefyResult<T> result = new ParsefyResult<>();
+        config.parse(file, charset, result);
+        return result;
+    }
+
+    public ParsefyResult<T> parse(Path path) throws Exception {
+        return parse(path, defaultCharset);
+    }
+
+    public ParsefyResult<T> parse(Path path, Charset charset) throws Exception {
+        ParsefyResult<T> result = new ParsefyResult<>();
+        config.parse(path, charset, result);
+        return result;
+    }
+
+    public Stream<T> stream(Reader reader) throws IOException {
+        return config.stream(reader);
+    }
+
+    public Stream<T> stream(Reader reader, Consumer<RowError> errorHandler) throws IOException {
+        return config.stream(reader, errorHandler);
+    }
+
+    public Stream<T> stream(InputStream inputStream, Consumer<RowError> errorHandler) throws IOException {
+        return config.stream(inputStream, errorHandler);
+    }
+
+    public Stream<T> stream(Path path, Consumer<RowError> errorHandler) throws IOException {
+        return config.stream(path, errorHandler);
+    }
+
+    public RowPublisher<T> publisher(Reader reader) {
+        return config.publisher(reader);
+    }
+
+    public RowPublisher<T> publisher(InputStream inputStream) {
+        return config.publisher(inputStream);
+    }
+
+    public RowPublisher<T> publisher(Path path) {
+        return config.publisher(path);
+    }
+
+    public FileFollower follow(Path path, Consumer<T> rowConsumer, Consumer<RowError> errorHandler) throws IOException {
+        return config.follow(path, rowConsumer, errorHandler);
+    }
+
+    public FileFollower follow(Path path, Consumer<T> rowConsumer, Consumer<RowError> errorHandler,
+                               Duration maxPollInterval) throws IOException {
+        return config.follow(path, rowConsumer, errorHandler, maxPollInterval);
+    }
+
+    public ColumnarResult parseColumnar(Reader reader) throws Exception {
+        return config.parseColumnar(reader);
+    }
+
+    public ColumnarResult parseColumnar(InputStream inputStream) throws Exception {
+        return config.parseColumnar(inputStream);
+    }
+
+    public ColumnarResult parseColumnar(String csvContent) throws Exception {
+        return config.parseColumnar(csvContent);
+    }
+
+    public ColumnarResult parseColumnar(Path path) throws Exception {
+        return config.parseColumnar(path);
+    }
+
+    public void parseInBatches(Reader reader, int batchSize, BatchSink<T> sink) throws Exception {
+        config.parseInBatches(reader, batchSize, sink);
+    }
+
+    public void parseInBatches(InputStream inputStream, int batchSize, BatchSink<T> sink) throws Exception {
+        config.parseInBatches(inputStream, batchSize, sink);
+    }
+
+    public void parseInBatches(Path path, int batchSize, BatchSink<T> sink) throws Exception {
+        config.parseInBatches(path, batchSize, sink);
+    }
+}
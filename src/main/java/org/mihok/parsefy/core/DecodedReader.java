@@ -0,0 +1,72 @@
+package org.mihok.parsefy.core;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+
+// BufferedReader over an InputStreamReader that counts the bytes the decoder took from the stream,
+// so MeteredReader can report bytes next to characters
+final class DecodedReader extends BufferedReader implements ByteCounter {
+    private final CountingInputStream bytes;
+
+    DecodedReader(InputStream in, Charset charset) {
+        this(new CountingInputStream(in), charset);
+    }
+
+    DecodedReader(InputStream in, CharsetDecoder decoder) {
+        this(new CountingInputStream(in), decoder);
+    }
+
+    private DecodedReader(CountingInputStream bytes, Charset charset) {
+        super(new InputStreamReader(bytes, charset));
+        this.bytes = bytes;
+    }
+
+    private DecodedReader(CountingInputStream bytes, CharsetDecoder decoder) {
+        super(new InputStreamReader(bytes, decoder));
+        this.bytes = bytes;
+    }
+
+    @Override
+    public long bytesRead() {
+        return bytes.count;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        // Only read by the thread that reads the characters
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
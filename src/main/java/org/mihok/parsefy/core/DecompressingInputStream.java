@@ -0,0 +1,130 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+// Recognizes gzip and zlib input by its first bytes and hands it to a BackgroundInflater; anything else
+// is passed through untouched. Nothing is read before the first read call, so wrapping a stream is free
+// until the parse actually starts. Raw deflate has no header and cannot be recognized.
+final class DecompressingInputStream extends InputStream {
+    // Enough for the BGZF header and to inflate the start of a zlib stream on trial
+    private static final int HEAD_SIZE = 512;
+
+    private final PushbackInputStream source;
+    private final int threads;
+    private final ExecutorService executor;
+    private InputStream input;
+
+    DecompressingInputStream(InputStream source, int threads, ExecutorService executor) {
+        this.source = new PushbackInputStream(source, HEAD_SIZE);
+        this.threads = threads;
+        this.executor = executor;
+    }
+
+    // Only regular files are sniffed, a pipe would lose the bytes read here
+    static boolean isCompressed(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEAD_SIZE);
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // Reads the head of the file
+            }
+            return isCompressed(head.array(), head.position());
+        }
+    }
+
+    private static boolean isCompressed(byte[] head, int length) {
+        if (length < 2) {
+            return false;
+        }
+        int first = head[0] & 0xff;
+        int second = head[1] & 0xff;
+        return first == 0x1f && second == 0x8b || isZlib(head, length);
+    }
+
+    // Text can start with a valid zlib header by chance ("x\u009c", "x\u00da"), so the head must also inflate.
+    // When the whole input fits in the head, the zlib stream must end in it too
+    private static boolean isZlib(byte[] head, int length) {
+        if (!isZlibHeader(head[0] & 0xff, head[1] & 0xff)) {
+            return false;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(head, 0, length);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished() && inflater.inflate(buffer) > 0) {
+                // Inflates as far as the head goes
+            }
+            return inflater.finished() || length == HEAD_SIZE;
+        } catch (DataFormatException e) {
+            return false;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // Deflate with at most a 32 KB window, no preset dictionary and a header check that is a multiple of 31
+    private static boolean isZlibHeader(int first, int second) {
+        return (first & 0x0f) == 8 && first >> 4 <= 7 && (second & 0x20) == 0 && (first << 8 | second) % 31 == 0;
+    }
+
+    private InputStream input() throws IOException {
+        if (input == null) {
+            input = open();
+        }
+        return input;
+    }
+
+    private InputStream open() throws IOException {
+        byte[] head = new byte[HEAD_SIZE];
+        int length = 0;
+        int read;
+        while (length < head.length && (read = source.read(head, length, head.length - length)) >= 0) {
+            length += read;
+        }
+        source.unread(head, 0, length);
+        if (!isCompressed(head, length)) {
+            return source;
+        }
+        if (head[0] != (byte) 0x1f) {
+            return BackgroundInflater.stream(new InflaterInputStream(source));
+        }
+        if (threads > 1 && BackgroundInflater.isBgzf(head, length)) {
+            return BackgroundInflater.bgzf(source, threads, executor);
+        }
+        // Reads concatenated members one after another
+        return BackgroundInflater.stream(new GZIPInputStream(source, 64 * 1024));
+    }
+
+    @Override
+    public int read() throws IOException {
+        return input().read();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        return input().read(bytes, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+        } else {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.exception.ErrorBudgetExceededException;
+
+// How many invalid rows a lenient parse tolerates before it gives up, either in total or as a share
+// of the last `window` rows. Immutable - every parse tracks its own count
+public final class ErrorBudget {
+    private final long maxErrors;
+    private final double maxRatio;
+    private final int window;
+
+    private ErrorBudget(long maxErrors, double maxRatio, int window) {
+        this.maxErrors = maxErrors;
+        this.maxRatio = maxRatio;
+        this.window = window;
+    }
+
+    public static ErrorBudget maxErrors(long maxErrors) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative, got " + maxErrors);
+        }
+        return new ErrorBudget(maxErrors, 0, 0);
+    }
+
+    // E.g. maxRatio(0.05, 10_000) aborts once more than 500 of the last 10,000 rows were invalid
+    public static ErrorBudget maxRatio(double maxRatio, int window) {
+        if (maxRatio < 0 || maxRatio > 1) {
+            throw new IllegalArgumentException("maxRatio must be between 0 and 1, got " + maxRatio);
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1, got " + window);
+        }
+        return new ErrorBudget(-1, maxRatio, window);
+    }
+
+    Tracker newTracker() {
+        return window == 0 ? new Tracker(maxErrors, null) : new Tracker((long) Math.floor(maxRatio * window), new boolean[window]);
+    }
+
+    // Not thread-safe, rows are recorded in file order
+    final class Tracker {
+        private final long limit;
+        // Ring of the last window outcomes, null when counting over the whole file
+        private final boolean[] recent;
+        private int position;
+        private long errors;
+        private long totalErrors;
+
+        private Tracker(long limit, boolean[] recent) {
+            this.limit = limit;
+            this.recent = recent;
+        }
+
+        // Returns true once the budget is exceeded
+        boolean record(boolean failed) {
+            if (failed) {
+                totalErrors++;
+            }
+            if (recent == null) {
+                errors = totalErrors;
+            } else {
+                if (recent[position]) {
+                    errors--;
+                }
+                recent[position] = failed;
+                if (failed) {
+                    errors++;
+                }
+                position = position + 1 == recent.length ? 0 : position + 1;
+            }
+            return errors > limit;
+        }
+
+        ErrorBudgetExceededException exceeded(long rowNumber) {
+            String message = recent == null
+                    ? String.format("Error budget exceeded at row %d: %d invalid rows, at most %d allowed",
+                    rowNumber, errors, limit)
+                    : String.format("Error budget exceeded at row %d: %d of the last %d rows invalid, at most %d (%s%%) allowed",
+                    rowNumber, errors, window, limit, maxRatio * 100);
+            return new ErrorBudgetExceededException(message, rowNumber, totalErrors);
+        }
+    }
+}
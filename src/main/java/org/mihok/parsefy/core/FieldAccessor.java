@@ -0,0 +1,170 @@
+package org.mihok.parsefy.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+public final class FieldAccessor {
+    private final String name;
+    private final Class<?> type;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveSetter;
+    // Integral primitives widened to long, float and double widened to double
+    private final MethodHandle longGetter;
+    private final MethodHandle doubleGetter;
+
+    private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter, MethodHandle primitiveSetter,
+                          MethodHandle longGetter, MethodHandle doubleGetter) {
+        this.name = field.getName();
+        this.type = field.getType();
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+        this.longGetter = longGetter;
+        this.doubleGetter = doubleGetter;
+    }
+
+    // Handles are resolved once per field at schema compile time, so per-row access is a plain invokeExact
+    public static FieldAccessor of(Field field) {
+        field.setAccessible(true);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> type = field.getType();
+            MethodHandle rawGetter = lookup.unreflectGetter(field);
+            MethodHandle getter = rawGetter.asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle longGetter = type == int.class || type == long.class || type == short.class || type == byte.class
+                    ? rawGetter.asType(MethodType.methodType(long.class, Object.class))
+                    : null;
+            MethodHandle doubleGetter = type == double.class || type == float.class
+                    ? rawGetter.asType(MethodType.methodType(double.class, Object.class))
+                    : null;
+            MethodHandle rawSetter = lookup.unreflectSetter(field);
+            MethodHandle setter = rawSetter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            MethodHandle primitiveSetter = field.getType().isPrimitive()
+                    ? rawSetter.asType(MethodType.methodType(void.class, Object.class, field.getType()))
+                    : null;
+            return new FieldAccessor(field, getter, setter, primitiveSetter, longGetter, doubleGetter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access field '" + field.getName() + "'", e);
+        }
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    IllegalArgumentException nullToPrimitive() {
+        return new IllegalArgumentException("Cannot assign null to primitive field '" + name + "'");
+    }
+
+    public Object get(Object instance) {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public boolean isIntegral() {
+        return longGetter != null;
+    }
+
+    public boolean isFloatingPoint() {
+        return doubleGetter != null;
+    }
+
+    // Unboxed read of int, long, short and byte fields, other number fields go through Number.longValue()
+    public long getLong(Object instance) {
+        if (longGetter == null) {
+            return ((Number) get(instance)).longValue();
+        }
+        try {
+            return (long) longGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    // Unboxed read of double and float fields, other number fields go through Number.doubleValue()
+    public double getDouble(Object instance) {
+        if (doubleGetter == null) {
+            return ((Number) get(instance)).doubleValue();
+        }
+        try {
+            return (double) doubleGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public void set(Object instance, Object value) {
+        if (value == null && type.isPrimitive()) {
+            throw nullToPrimitive();
+        }
+        try {
+            setter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public void setInt(Object instance, int value) {
+        if (type != int.class) {
+            set(instance, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public void setLong(Object instance, long value) {
+        if (type != long.class) {
+            set(instance, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public void setDouble(Object instance, double value) {
+        if (type != double.class) {
+            set(instance, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public void setBoolean(Object instance, boolean value) {
+        if (type != boolean.class) {
+            set(instance, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException(e);
+    }
+}
@@ -1,22 +1,30 @@
 package org.mihok.parsefy.core;
 
+import org.mihok.parsefy.converter.Converter;
 import org.mihok.parsefy.core.validator.FieldValidator;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+// Read-only outside the package, see SchemaDefinition
 public class FieldDefinition {
     private String name;
     private boolean required;
     private Field field;
+    private FieldAccessor accessor;
+    private Converter<?> converter;
+    // Distinct values kept by @Dedupe, 0 when the field is not deduplicated
+    private int dedupeSize;
     private final List<FieldValidator<?>> validators = new ArrayList<>();
+    private final List<FieldValidator<?>> validatorView = Collections.unmodifiableList(validators);
 
     public String getColumnName() {
         return this.name;
     }
 
-    public void setColumnName(String name) {
+    void setColumnName(String name) {
         this.name = name;
     }
 
@@ -24,7 +32,7 @@ public class FieldDefinition {
         return required;
     }
 
-    public void setRequired(boolean required) {
+    void setRequired(boolean required) {
         this.required = required;
     }
 
@@ -32,25 +40,45 @@ public class FieldDefinition {
         return field;
     }
 
-    public void setField(Field field) {
+    void setField(Field field) {
         this.field = field;
-        this.field.setAccessible(true);
+        this.accessor = FieldAccessor.of(field);
+    }
+
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public Converter<?> getConverter() {
+        return converter;
+    }
+
+    void setConverter(Converter<?> converter) {
+        this.converter = converter;
+    }
+
+    public int getDedupeSize() {
+        return dedupeSize;
+    }
+
+    void setDedupeSize(int dedupeSize) {
+        this.dedupeSize = dedupeSize;
     }
 
     public List<FieldValidator<?>> getValidators() {
-        return this.validators;
+        return this.validatorView;
     }
 
-    public void addValidator(FieldValidator<?> validator) {
+    void addValidator(FieldValidator<?> validator) {
         this.validators.add(validator);
     }
 
     public void setValue(Object object, Object value) throws IllegalAccessException {
-        this.field.set(object, value);
+        this.accessor.set(object, value);
     }
 
 
     public <T> Object getValue(T instance) throws IllegalAccessException {
-        return field.get(instance);
+        return accessor.get(instance);
     }
 }
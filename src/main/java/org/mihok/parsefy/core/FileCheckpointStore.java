@@ -0,0 +1,64 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+final class FileCheckpointStore implements CheckpointStore {
+    private static final String OFFSET = "byteOffset";
+    private static final String RECORD = "recordNumber";
+
+    private final Path file;
+
+    FileCheckpointStore(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Checkpoint load() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        String offset = properties.getProperty(OFFSET);
+        String record = properties.getProperty(RECORD);
+        if (offset == null || record == null) {
+            throw new IOException("Checkpoint file " + file + " is incomplete");
+        }
+        try {
+            return new Checkpoint(Long.parseLong(offset), Long.parseLong(record));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint file " + file + " is invalid: " + e.getMessage(), e);
+        }
+    }
+
+    // A crash while saving leaves either the old or the new checkpoint, never half a file
+    @Override
+    public void save(Checkpoint checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(OFFSET, Long.toString(checkpoint.getByteOffset()));
+        properties.setProperty(RECORD, Long.toString(checkpoint.getRecordNumber()));
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                properties.store(out, null);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public void clear() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,270 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Splits a CSV file into byte ranges that each start on a record boundary. A newline ends a record unless it
+// is inside a quoted field, and like the tokenizers a quote only opens a field as its first character, so
+// 5" pipe is a plain cell. The scan state at a split point depends on everything before it: each range is
+// scanned (in parallel) from all four states at once, then the results are chained from the start and each
+// split point is moved forward to the next record boundary.
+// Only sound for charsets where '"', '\n' and the delimiter are single bytes that never occur inside another
+// character.
+final class FileChunks {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte QUOTE = '"';
+    private static final long NOT_FOUND = -1;
+
+    // Scan states: at the start of a field, in an unquoted field, in a quoted field, and right after a quote in
+    // a quoted field, which closes it unless another quote follows
+    static final int FIELD_START = 0;
+    static final int UNQUOTED = 1;
+    static final int QUOTED = 2;
+    static final int QUOTE_IN_QUOTED = 3;
+    private static final int[] ALL_STATES = {FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED};
+
+    private FileChunks() {
+    }
+
+    static boolean supports(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    static boolean supportsDelimiter(String delimiter) {
+        if (delimiter.length() != 1) {
+            return false;
+        }
+        char c = delimiter.charAt(0);
+        return c < 0x80 && c != QUOTE && c != '\n' && c != '\r';
+    }
+
+    static int next(int state, byte b, byte delimiter) {
+        if (state == QUOTED) {
+            return b == QUOTE ? QUOTE_IN_QUOTED : QUOTED;
+        }
+        if (b == QUOTE) {
+            return state == FIELD_START || state == QUOTE_IN_QUOTED ? QUOTED : UNQUOTED;
+        }
+        return b == delimiter || b == '\n' || b == '\r' ? FIELD_START : UNQUOTED;
+    }
+
+    static boolean endsRecord(int state, byte b) {
+        return b == '\n' && state != QUOTED;
+    }
+
+    // End offset of the header record including its line break, or -1 when no data can follow it
+    static long headerEnd(FileChannel channel, byte delimiter) throws IOException {
+        long size = channel.size();
+        long start = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        while (start < size) {
+            buffer.clear();
+            channel.read(buffer, start);
+            byte b = buffer.get(0);
+            if (b != '\n' && b != '\r') {
+                break;
+            }
+            start++;
+        }
+        long end = nextBoundary(channel, start, size, FIELD_START, delimiter);
+        return end == NOT_FOUND || end == size ? NOT_FOUND : end;
+    }
+
+    // Offsets [start, b1, ..., end] of at most maxChunks ranges of at least minChunkSize bytes.
+    // start must itself be a record boundary
+    static long[] split(FileChannel channel, long start, long end, byte delimiter, int maxChunks, long minChunkSize,
+                        Executor executor) throws IOException {
+        int count = (int) Math.max(1, Math.min(maxChunks, (end - start) / minChunkSize));
+        long[] nominal = new long[count + 1];
+        for (int i = 0; i <= count; i++) {
+            nominal[i] = start + (end - start) * i / count;
+        }
+        // Element s of a range's result is the state after the range when it was entered in state s
+        List<CompletableFuture<int[]>> transitions = new ArrayList<>(count);
+        for (int i = 0; i + 1 < count; i++) {
+            long from = nominal[i];
+            long to = nominal[i + 1];
+            transitions.add(CompletableFuture.supplyAsync(
+                    () -> scan(channel, from, to, ALL_STATES.clone(), delimiter), executor));
+        }
+
+        List<Long> bounds = new ArrayList<>(count + 1);
+        bounds.add(start);
+        int state = FIELD_START;
+        for (int i = 1; i < count; i++) {
+            state = join(transitions.get(i - 1))[state];
+            long boundary = nextBoundary(channel, nominal[i], end, state, delimiter);
+            if (boundary != NOT_FOUND && boundary > bounds.get(bounds.size() - 1) && boundary < end) {
+                bounds.add(boundary);
+            }
+        }
+        bounds.add(end);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    // First record boundary at or after nominal, or end. start must itself be a record boundary
+    static long boundaryAfter(FileChannel channel, long start, long nominal, long end, byte delimiter)
+            throws IOException {
+        if (nominal >= end) {
+            return end;
+        }
+        int state;
+        try {
+            state = scan(channel, start, nominal, new int[]{FIELD_START}, delimiter)[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long boundary = nextBoundary(channel, nominal, end, state, delimiter);
+        return boundary == NOT_FOUND ? end : boundary;
+    }
+
+    static byte[] read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at " + (start + buffer.position()));
+            }
+        }
+        return buffer.array();
+    }
+
+    // Positional reads only, so any number of chunks can share one channel
+    static InputStream open(FileChannel channel, long start, long end) {
+        return new RangeInputStream(channel, start, end);
+    }
+
+    // Advances every state in states over [from, to). They usually agree after the first delimiter or line
+    // break outside quotes, from then on only one is tracked
+    private static int[] scan(FileChannel channel, long from, long to, int[] states, byte delimiter) {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        boolean converged = states.length == 1;
+        try {
+            while (position < to) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, to - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                byte[] bytes = buffer.array();
+                if (converged) {
+                    int state = states[0];
+                    for (int i = 0; i < read; i++) {
+                        state = next(state, bytes[i], delimiter);
+                    }
+                    Arrays.fill(states, state);
+                } else {
+                    for (int i = 0; i < read; i++) {
+                        for (int s = 0; s < states.length; s++) {
+                            states[s] = next(states[s], bytes[i], delimiter);
+                        }
+                    }
+                    converged = allEqual(states);
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return states;
+    }
+
+    private static boolean allEqual(int[] states) {
+        for (int state : states) {
+            if (state != states[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Offset just past the first '\n' that ends a record at or after from, entered in state
+    private static long nextBoundary(FileChannel channel, long from, long to, int state, byte delimiter)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                if (endsRecord(state, bytes[i])) {
+                    return position + i + 1;
+                }
+                state = next(state, bytes[i], delimiter);
+            }
+            position += read;
+        }
+        return NOT_FOUND;
+    }
+
+    private static int[] join(CompletableFuture<int[]> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read < 0) {
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+}
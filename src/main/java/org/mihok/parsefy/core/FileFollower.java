@@ -0,0 +1,281 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Follows a file that keeps being appended to, started by Parsefy.follow. Only bytes past the last scan are
+// read to find new record boundaries, so a poll costs the same however large the file has grown. Complete
+// records are parsed as soon as they are found; a trailing partial record waits for its line break.
+// Growth is noticed through a WatchService on the file's directory where the platform has one, and by
+// polling that backs off from 1 ms to maxPollInterval while the file stays the same. A file that shrinks
+// was truncated and is followed again from the top; a truncation is missed if the file has grown past the
+// scanned size again by the next poll. While the file does not grow, its file key is compared
+// with the one of the open file, so a file replaced by rename (log rotation) is reopened and followed from
+// the top too; on file systems without file keys a rename is not noticed.
+public final class FileFollower implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    interface Segments {
+        // Parses the records in [start, end) behind header and returns how many there were
+        long parse(FileChannel channel, byte[] header, long start, long end, long recordOffset) throws Exception;
+    }
+
+    private final Path path;
+    private final Segments segments;
+    private final byte delimiter;
+    private final long maxPollNanos;
+    private final Runnable onStop;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile boolean closed;
+    private volatile Thread runner;
+    private volatile long byteOffset;
+    private volatile long recordNumber;
+
+    // Scan state, only touched by the runner
+    private byte[] header;
+    private long headerEnd = -1;
+    private long scanned;
+    private long boundary;
+    private int state = FileChunks.FIELD_START;
+    private boolean lineHasContent;
+
+    FileFollower(Path path, Segments segments, byte delimiter, long maxPollNanos, Runnable onStop) {
+        this.path = path;
+        this.segments = segments;
+        this.delimiter = delimiter;
+        this.maxPollNanos = Math.max(maxPollNanos, MIN_POLL_NANOS);
+        this.onStop = onStop;
+    }
+
+    void start(Executor executor) {
+        if (executor != null) {
+            executor.execute(this::run);
+            return;
+        }
+        Thread thread = new Thread(this::run, "parsefy-follow-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // First byte after the last delivered record
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    // Records delivered so far, valid, invalid and filtered
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    public boolean isRunning() {
+        return !done.isDone();
+    }
+
+    // Blocks until the follower has stopped and rethrows what stopped it, if it was not close()
+    public void await() throws Exception {
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Stops following; a batch of records being delivered is interrupted
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = runner;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        runner = Thread.currentThread();
+        FileChannel channel = null;
+        try (WatchService watcher = watch()) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            Object fileKey = fileKey();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long poll = MIN_POLL_NANOS;
+            while (!closed) {
+                long size = channel.size();
+                if (size < scanned) {
+                    reset();
+                }
+                if (size > scanned) {
+                    scan(channel, buffer, size);
+                    deliver(channel);
+                    poll = MIN_POLL_NANOS;
+                    continue;
+                }
+                // Only checked once the old file is read to its end, so records written before the rename are kept
+                Object current = fileKey();
+                if (fileKey != null && current != null && !current.equals(fileKey)) {
+                    if (channel.size() != scanned) {
+                        // Written to the old file since the size was checked
+                        continue;
+                    }
+                    channel.close();
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                    fileKey = fileKey();
+                    reset();
+                    poll = MIN_POLL_NANOS;
+                    continue;
+                }
+                waitForGrowth(watcher, poll);
+                poll = Math.min(poll * 2, maxPollNanos);
+            }
+            done.complete(null);
+        } catch (Throwable e) {
+            // Interrupted reads and waits are how close() stops the follower
+            if (closed) {
+                done.complete(null);
+            } else {
+                done.completeExceptionally(e);
+            }
+        } finally {
+            runner = null;
+            Thread.interrupted();
+            closeQuietly(channel);
+            onStop.run();
+        }
+    }
+
+    // Null where the file system has no file keys, or between a rename and the creation of the new file
+    private Object fileKey() throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Only read from
+            }
+        }
+    }
+
+    private WatchService watch() {
+        Path directory = path.toAbsolutePath().getParent();
+        WatchService watcher = null;
+        try {
+            watcher = directory.getFileSystem().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            return watcher;
+        } catch (IOException | RuntimeException e) {
+            // Polling alone still works
+            if (watcher != null) {
+                try {
+                    watcher.close();
+                } catch (IOException ignored) {
+                    // Nothing was registered
+                }
+            }
+            return null;
+        }
+    }
+
+    private static void waitForGrowth(WatchService watcher, long nanos) throws InterruptedException {
+        if (watcher == null) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return;
+        }
+        try {
+            // Any change in the directory ends the wait early, the caller then checks the size again
+            WatchKey key = watcher.poll(nanos, TimeUnit.NANOSECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    // Same record boundaries as FileChunks: a line break ends a record unless it is inside a quoted field.
+    // The first line with content is the header
+    private void scan(FileChannel channel, ByteBuffer buffer, long size) throws IOException {
+        while (scanned < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, size - scanned));
+            int read = channel.read(buffer, scanned);
+            if (read <= 0) {
+                return;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                if (FileChunks.endsRecord(state, b)) {
+                    long end = scanned + i + 1;
+                    if (headerEnd >= 0) {
+                        boundary = end;
+                    } else if (lineHasContent) {
+                        headerEnd = end;
+                    }
+                    lineHasContent = false;
+                } else if (b != '\r') {
+                    lineHasContent = true;
+                }
+                state = FileChunks.next(state, b, delimiter);
+            }
+            scanned += read;
+        }
+    }
+
+    private void deliver(FileChannel channel) throws Exception {
+        if (header == null) {
+            if (headerEnd < 0) {
+                return;
+            }
+            header = FileChunks.read(channel, 0, headerEnd);
+            byteOffset = headerEnd;
+            // Binds the header right away, so a missing column fails before any record arrives
+            segments.parse(channel, header, headerEnd, headerEnd, 0);
+        }
+        if (boundary > byteOffset) {
+            long records = segments.parse(channel, header, byteOffset, boundary, recordNumber);
+            byteOffset = boundary;
+            recordNumber += records;
+        }
+    }
+
+    private void reset() {
+        header = null;
+        headerEnd = -1;
+        scanned = 0;
+        boundary = 0;
+        state = FileChunks.FIELD_START;
+        lineHasContent = false;
+        byteOffset = 0;
+        recordNumber = 0;
+    }
+}
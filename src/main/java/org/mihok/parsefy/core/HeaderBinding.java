@@ -0,0 +1,70 @@
+package org.mihok.parsefy.core;
+
+import java.util.*;
+
+// Schema fields resolved against one file's header, so rows are read by index instead of by name
+public final class HeaderBinding {
+    private final int[] columnIndexes;
+    private final BitSet present;
+
+    private HeaderBinding(int[] columnIndexes, BitSet present) {
+        this.columnIndexes = columnIndexes;
+        this.present = present;
+    }
+
+    public static HeaderBinding bind(List<String> header, SchemaDefinition<?> schema) {
+        List<String> columns = new ArrayList<>();
+        boolean[] required = new boolean[schema.getFields().size()];
+        for (int i = 0; i < required.length; i++) {
+            FieldDefinition fieldDef = schema.getFields().get(i);
+            columns.add(fieldDef.getColumnName());
+            required[i] = fieldDef.isRequired();
+        }
+        return bind(header, columns, required);
+    }
+
+    public static HeaderBinding bind(List<String> header, RowMapper<?> mapper) {
+        List<String> columns = mapper.getColumnNames();
+        boolean[] required = new boolean[columns.size()];
+        for (int i = 0; i < required.length; i++) {
+            required[i] = mapper.isRequired(i);
+        }
+        return bind(header, columns, required);
+    }
+
+    private static HeaderBinding bind(List<String> headerNames, List<String> columns, boolean[] required) {
+        // Duplicate names resolve to the last occurrence, as commons-csv does
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < headerNames.size(); i++) {
+            if (headerNames.get(i) != null) {
+                header.put(headerNames.get(i), i);
+            }
+        }
+        int[] columnIndexes = new int[columns.size()];
+        BitSet present = new BitSet(columns.size());
+        for (int i = 0; i < columnIndexes.length; i++) {
+            Integer index = header.get(columns.get(i));
+            if (index != null) {
+                columnIndexes[i] = index;
+                present.set(i);
+            } else if (required[i] && !header.isEmpty()) {
+                throw new RuntimeException("Required field '" + columns.get(i) + "' is missing");
+            } else {
+                columnIndexes[i] = -1;
+            }
+        }
+        return new HeaderBinding(columnIndexes, present);
+    }
+
+    public int size() {
+        return columnIndexes.length;
+    }
+
+    public int columnIndex(int field) {
+        return columnIndexes[field];
+    }
+
+    public boolean isPresent(int field) {
+        return present.get(field);
+    }
+}
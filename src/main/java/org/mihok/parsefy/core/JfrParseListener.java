@@ -0,0 +1,127 @@
+package org.mihok.parsefy.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.time.Duration;
+
+// Records an org.mihok.parsefy.Parse event per parse and an org.mihok.parsefy.SlowRow event for every row
+// that took at least slowRowThreshold. Both are only built while a recording has them enabled, e.g.
+// java -XX:StartFlightRecording ... or a JMC recording with the Parsefy category
+public final class JfrParseListener implements ParseListener {
+    private final long slowRowNanos;
+
+    public JfrParseListener() {
+        this(Duration.ofMillis(10));
+    }
+
+    public JfrParseListener(Duration slowRowThreshold) {
+        if (slowRowThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow row threshold must not be negative, got " + slowRowThreshold);
+        }
+        this.slowRowNanos = slowRowThreshold.toNanos();
+    }
+
+    @Override
+    public void rowParsed(long rowNumber, long nanos) {
+        if (nanos < slowRowNanos) {
+            return;
+        }
+        SlowRowEvent event = new SlowRowEvent();
+        if (event.isEnabled()) {
+            event.rowNumber = rowNumber;
+            event.rowTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void parseFinished(ParseMetrics metrics) {
+        ParseEvent event = new ParseEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.schema = metrics.getSchema().getName();
+        event.rowsRead = metrics.getRowsRead();
+        event.validRows = metrics.getValidRows();
+        event.rejectedRows = metrics.getRejectedRows();
+        event.filteredRows = metrics.getFilteredRows();
+        event.bytesRead = metrics.getBytesRead();
+        event.charsRead = metrics.getCharsRead();
+        event.readTime = metrics.getReadNanos();
+        event.tokenizeTime = metrics.getTokenizeNanos();
+        event.convertTime = metrics.getConvertNanos();
+        event.validateTime = metrics.getValidateNanos();
+        event.totalTime = metrics.getTotalNanos();
+        event.commit();
+    }
+
+    @Name("org.mihok.parsefy.Parse")
+    @Label("CSV Parse")
+    @Category("Parsefy")
+    @Description("Counters and cumulative stage times of one parse")
+    @StackTrace(false)
+    static final class ParseEvent extends Event {
+        @Label("Schema")
+        String schema;
+
+        @Label("Rows Read")
+        long rowsRead;
+
+        @Label("Valid Rows")
+        long validRows;
+
+        @Label("Rejected Rows")
+        long rejectedRows;
+
+        @Label("Filtered Rows")
+        long filteredRows;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("Characters Read")
+        long charsRead;
+
+        @Label("Read Time")
+        @Timespan
+        long readTime;
+
+        @Label("Tokenize Time")
+        @Timespan
+        long tokenizeTime;
+
+        @Label("Convert Time")
+        @Timespan
+        long convertTime;
+
+        @Label("Validate Time")
+        @Timespan
+        long validateTime;
+
+        @Label("Total Time")
+        @Timespan
+        long totalTime;
+    }
+
+    @Name("org.mihok.parsefy.SlowRow")
+    @Label("Slow CSV Row")
+    @Category("Parsefy")
+    @Description("A row that took at least the listener's threshold to read, convert and validate")
+    @StackTrace(false)
+    static final class SlowRowEvent extends Event {
+        @Label("Row Number")
+        long rowNumber;
+
+        @Label("Row Time")
+        @Timespan
+        long rowTime;
+    }
+}
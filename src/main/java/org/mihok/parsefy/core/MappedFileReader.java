@@ -0,0 +1,165 @@
+package org.mihok.parsefy.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Decodes a memory-mapped file straight into the caller's char array. There is no intermediate byte[]
+// or char[] as with InputStreamReader + BufferedReader, and ASCII bytes skip the CharsetDecoder entirely.
+// A MappedByteBuffer is capped at 2 GB, so larger files are mapped in windows that are remapped from the
+// first unread byte once decoding stops making progress.
+final class MappedFileReader extends Reader implements ByteCounter {
+    private static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final boolean asciiCompatible;
+    private final boolean latin1;
+    private final long windowSize;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean lastWindow;
+    private boolean flushed;
+    // Low surrogate left over when a one-char read hit a surrogate pair
+    private char pending;
+    private boolean hasPending;
+
+    MappedFileReader(FileChannel channel, CharsetDecoder decoder, long windowSize) throws IOException {
+        this.channel = channel;
+        this.decoder = decoder;
+        this.asciiCompatible = StandardCharsets.UTF_8.equals(decoder.charset())
+                || StandardCharsets.US_ASCII.equals(decoder.charset());
+        this.latin1 = StandardCharsets.ISO_8859_1.equals(decoder.charset());
+        // Room for the longest encoded character, so a remap always makes progress
+        this.windowSize = Math.max(windowSize, 16);
+        this.size = channel.size();
+        map(0);
+    }
+
+    static MappedFileReader open(Path path, CharsetDecoder decoder) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedFileReader(channel, decoder, DEFAULT_WINDOW_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void map(long start) throws IOException {
+        long length = Math.min(windowSize, size - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+        lastWindow = start + length == size;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (window == null) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (hasPending) {
+            hasPending = false;
+            chars[offset] = pending;
+            return 1;
+        }
+        int read = latin1 ? copyLatin1(chars, offset, length) : asciiCompatible ? copyAscii(chars, offset, length) : 0;
+        if (read > 0) {
+            return read;
+        }
+        return decode(chars, offset, length);
+    }
+
+    private int copyAscii(char[] chars, int offset, int length) {
+        MappedByteBuffer bytes = window;
+        int position = bytes.position();
+        int end = position + Math.min(length, bytes.remaining());
+        int start = position;
+        while (position < end) {
+            byte b = bytes.get(position);
+            if (b < 0) {
+                break;
+            }
+            chars[offset++] = (char) b;
+            position++;
+        }
+        bytes.position(position);
+        return position - start;
+    }
+
+    private int copyLatin1(char[] chars, int offset, int length) {
+        MappedByteBuffer bytes = window;
+        int position = bytes.position();
+        int count = Math.min(length, bytes.remaining());
+        for (int i = 0; i < count; i++) {
+            chars[offset + i] = (char) (bytes.get(position + i) & 0xff);
+        }
+        bytes.position(position + count);
+        return count;
+    }
+
+    // Non-ASCII input, window ends (a character may be split across two windows) and end of file
+    private int decode(char[] chars, int offset, int length) throws IOException {
+        if (flushed) {
+            return -1;
+        }
+        CharBuffer out = CharBuffer.wrap(chars, offset, length);
+        while (true) {
+            CoderResult result = decoder.decode(window, out, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow() && out.position() == offset) {
+                return decodePair(chars, offset);
+            }
+            if (lastWindow && !window.hasRemaining() && !flushed) {
+                decoder.flush(out);
+                flushed = true;
+            }
+            if (out.position() > offset) {
+                return out.position() - offset;
+            }
+            if (lastWindow) {
+                return -1;
+            }
+            map(windowStart + window.position());
+        }
+    }
+
+    private int decodePair(char[] chars, int offset) throws IOException {
+        CharBuffer pair = CharBuffer.allocate(2);
+        CoderResult result = decoder.decode(window, pair, lastWindow);
+        if (result.isError()) {
+            result.throwException();
+        }
+        chars[offset] = pair.get(0);
+        if (pair.position() == 2) {
+            pending = pair.get(1);
+            hasPending = true;
+        }
+        return 1;
+    }
+
+    @Override
+    public long bytesRead() {
+        return windowStart + (window == null ? 0 : window.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
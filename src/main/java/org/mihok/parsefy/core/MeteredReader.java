@@ -0,0 +1,46 @@
+package org.mihok.parsefy.core;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// Times the underlying reads and counts the characters they return, and the bytes decoded for them when
+// the reader decodes itself
+final class MeteredReader extends FilterReader {
+    private final ParseMetrics metrics;
+    private final ByteCounter bytes;
+    private long bytesRead;
+
+    MeteredReader(Reader in, ParseMetrics metrics) {
+        super(in);
+        this.metrics = metrics;
+        this.bytes = in instanceof ByteCounter ? (ByteCounter) in : null;
+        this.bytesRead = bytes == null ? 0 : bytes.bytesRead();
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int c = super.read();
+        metrics.read(c < 0 ? 0 : 1, newBytes(), System.nanoTime() - start);
+        return c;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        int read = super.read(chars, offset, length);
+        metrics.read(Math.max(read, 0), newBytes(), System.nanoTime() - start);
+        return read;
+    }
+
+    private long newBytes() {
+        if (bytes == null) {
+            return 0;
+        }
+        long total = bytes.bytesRead();
+        long added = total - bytesRead;
+        bytesRead = total;
+        return added;
+    }
+}
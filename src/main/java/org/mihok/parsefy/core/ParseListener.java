@@ -0,0 +1,13 @@
+package org.mihok.parsefy.core;
+
+// Observes a parse; attached with Parsefy.listener. Without a listener the parse is not timed at all.
+// Callbacks come from the thread that reads the rows, one at a time. Parallel parses call rowParsed from the
+// calling thread as each chunk is merged, so rows are still reported in file order
+public interface ParseListener {
+    // Every row that was not filtered out, with the nanoseconds spent reading, converting and validating it
+    default void rowParsed(long rowNumber, long nanos) {
+    }
+
+    // Once per parse, also when it ended with an exception or was closed early
+    void parseFinished(ParseMetrics metrics);
+}
@@ -0,0 +1,202 @@
+package org.mihok.parsefy.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counters and cumulative stage times of one parse. Stage times are summed over all threads, so with
+// pipelining or parallel chunks they can add up to more than getTotalNanos().
+// Reading is the time spent in Reader.read, decoding included; tokenizing excludes it. Generated mappers convert and
+// validate in one call, which is counted as converting and not broken down by field or validator.
+public final class ParseMetrics {
+    private final Class<?> schema;
+    private final List<FieldDefinition> fields;
+    private final long started = System.nanoTime();
+    private volatile long finished;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong validRows = new AtomicLong();
+    private final AtomicLong rejectedRows = new AtomicLong();
+    private final AtomicLong filteredRows = new AtomicLong();
+    private final AtomicLong charsRead = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong readNanos = new AtomicLong();
+    private final AtomicLong tokenizeNanos = new AtomicLong();
+    private final AtomicLong convertNanos = new AtomicLong();
+    private final AtomicLong validateNanos = new AtomicLong();
+    private final AtomicLongArray fieldConvertNanos;
+    // Flattened [field][validator], validatorOffsets[field] is the field's first slot
+    private final AtomicLongArray validatorNanos;
+    private final int[] validatorOffsets;
+
+    ParseMetrics(SchemaDefinition<?> schema) {
+        this.schema = schema.getClazz();
+        this.fields = schema.getFields();
+        this.fieldConvertNanos = new AtomicLongArray(fields.size());
+        this.validatorOffsets = new int[fields.size()];
+        int slots = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            validatorOffsets[i] = slots;
+            slots += fields.get(i).getValidators().size();
+        }
+        this.validatorNanos = new AtomicLongArray(slots);
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowValid() {
+        validRows.incrementAndGet();
+    }
+
+    void rowRejected() {
+        rejectedRows.incrementAndGet();
+    }
+
+    void rowFiltered() {
+        filteredRows.incrementAndGet();
+    }
+
+    void read(long chars, long bytes, long nanos) {
+        charsRead.addAndGet(chars);
+        bytesRead.addAndGet(bytes);
+        readNanos.addAndGet(nanos);
+    }
+
+    long readNanos() {
+        return readNanos.get();
+    }
+
+    void tokenized(long nanos) {
+        tokenizeNanos.addAndGet(nanos);
+    }
+
+    // Whole-row conversion, used by generated mappers
+    void converted(long nanos) {
+        convertNanos.addAndGet(nanos);
+    }
+
+    void converted(int field, long nanos) {
+        convertNanos.addAndGet(nanos);
+        fieldConvertNanos.addAndGet(field, nanos);
+    }
+
+    void validated(int field, int validator, long nanos) {
+        validateNanos.addAndGet(nanos);
+        validatorNanos.addAndGet(validatorOffsets[field] + validator, nanos);
+    }
+
+    void finish() {
+        if (finished == 0) {
+            finished = System.nanoTime();
+        }
+    }
+
+    // Adds the counters and stage times of a parallel chunk
+    void add(ParseMetrics chunk) {
+        rowsRead.addAndGet(chunk.getRowsRead());
+        validRows.addAndGet(chunk.getValidRows());
+        rejectedRows.addAndGet(chunk.getRejectedRows());
+        filteredRows.addAndGet(chunk.getFilteredRows());
+        charsRead.addAndGet(chunk.getCharsRead());
+        bytesRead.addAndGet(chunk.getBytesRead());
+        readNanos.addAndGet(chunk.getReadNanos());
+        tokenizeNanos.addAndGet(chunk.getTokenizeNanos());
+        convertNanos.addAndGet(chunk.getConvertNanos());
+        validateNanos.addAndGet(chunk.getValidateNanos());
+        for (int i = 0; i < fieldConvertNanos.length(); i++) {
+            fieldConvertNanos.addAndGet(i, chunk.fieldConvertNanos.get(i));
+        }
+        for (int i = 0; i < validatorNanos.length(); i++) {
+            validatorNanos.addAndGet(i, chunk.validatorNanos.get(i));
+        }
+    }
+
+    public Class<?> getSchema() {
+        return schema;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getValidRows() {
+        return validRows.get();
+    }
+
+    // Rows that failed validation
+    public long getRejectedRows() {
+        return rejectedRows.get();
+    }
+
+    public long getFilteredRows() {
+        return filteredRows.get();
+    }
+
+    // Characters the tokenizer consumed. Chunks of parallel, checkpointed and followed parses each start
+    // with a copy of the header, which is not counted
+    public long getCharsRead() {
+        return charsRead.get();
+    }
+
+    // Bytes decoded into those characters, after decompression. 0 when the input was handed over as a Reader
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getReadNanos() {
+        return readNanos.get();
+    }
+
+    public long getTokenizeNanos() {
+        return tokenizeNanos.get();
+    }
+
+    public long getConvertNanos() {
+        return convertNanos.get();
+    }
+
+    public long getValidateNanos() {
+        return validateNanos.get();
+    }
+
+    // Wall-clock time from the start of the parse until it finished, or until now while it runs
+    public long getTotalNanos() {
+        return (finished == 0 ? System.nanoTime() : finished) - started;
+    }
+
+    // Conversion time by CSV column name
+    public Map<String, Long> getConvertNanosByField() {
+        Map<String, Long> byField = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            byField.put(fields.get(i).getColumnName(), fieldConvertNanos.get(i));
+        }
+        return Collections.unmodifiableMap(byField);
+    }
+
+    // Validation time by "column:ValidatorClass"
+    public Map<String, Long> getValidateNanosByValidator() {
+        Map<String, Long> byValidator = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            List<?> validators = fields.get(i).getValidators();
+            for (int v = 0; v < validators.size(); v++) {
+                String key = fields.get(i).getColumnName() + ":" + validators.get(v).getClass().getSimpleName();
+                byValidator.merge(key, validatorNanos.get(validatorOffsets[i] + v), Long::sum);
+            }
+        }
+        return Collections.unmodifiableMap(byValidator);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParseMetrics[%s: %d rows read, %d valid, %d rejected, %d filtered, %d bytes, %d chars, "
+                        + "read %d ms, tokenize %d ms, convert %d ms, validate %d ms, total %d ms]",
+                schema.getSimpleName(), getRowsRead(), getValidRows(), getRejectedRows(), getFilteredRows(),
+                getBytesRead(), getCharsRead(), getReadNanos() / 1_000_000, getTokenizeNanos() / 1_000_000,
+                getConvertNanos() / 1_000_000, getValidateNanos() / 1_000_000, getTotalNanos() / 1_000_000);
+    }
+}
@@ -1,34 +1,92 @@
 package org.mihok.parsefy.core;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
-import org.mihok.parsefy.converter.TypeConverter;
-import org.mihok.parsefy.core.validator.FieldValidator;
+import org.mihok.parsefy.converter.Converter;
+import org.mihok.parsefy.converter.ConverterRegistry;
+import org.mihok.parsefy.tokenizer.CsvTokenizer;
+import org.mihok.parsefy.tokenizer.TokenizerFactory;
+import org.mihok.parsefy.tokenizer.TokenizerOptions;
+import org.mihok.parsefy.tokenizer.Tokenizers;
 import org.mihok.parsefy.validation.ValidationResult;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Parsefy<T> {
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final Duration MAX_FOLLOW_POLL = Duration.ofMillis(100);
+
     private Charset defaultCharset = StandardCharsets.UTF_8;
     private String delimiter = ",";
     private boolean skipHeader = true;
     private boolean strictMode = true;
     private boolean trim = true;
+    private TokenizerFactory tokenizer = Tokenizers.COMMONS_CSV;
+    private int parallelism = 1;
+    private boolean memoryMapped;
+    private int maxInFlight;
+    private ExecutorService executor;
+    private ErrorBudget errorBudget;
+    private boolean shortCircuit;
+    private final Map<String, Predicate<CharSequence>> filters = new LinkedHashMap<>();
+    private ParseListener listener;
+    private CheckpointStore checkpoints;
+    private long checkpointInterval;
     private final Map<Class<?>, Object> dependencies = new HashMap<>();
+    private final ConverterRegistry converters;
     private final Class<T> schemaClass;
+    private final RowMapper<T> mapper;
     private final ParsefyResult<T> result;
 
     private Parsefy(Class<T> schemaClass) {
         this.schemaClass = schemaClass;
+        this.mapper = RowMappers.find(schemaClass);
+        this.converters = new ConverterRegistry();
+        this.result = new ParsefyResult<>();
+    }
+
+    // Snapshot for compile(), later builder calls on source do not reach the copy
+    private Parsefy(Parsefy<T> source) {
+        this.defaultCharset = source.defaultCharset;
+        this.delimiter = source.delimiter;
+        this.skipHeader = source.skipHeader;
+        this.strictMode = source.strictMode;
+        this.trim = source.trim;
+        this.tokenizer = source.tokenizer;
+        this.parallelism = source.parallelism;
+        this.memoryMapped = source.memoryMapped;
+        this.maxInFlight = source.maxInFlight;
+        this.executor = source.executor;
+        this.errorBudget = source.errorBudget;
+        this.shortCircuit = source.shortCircuit;
+        this.filters.putAll(source.filters);
+        this.listener = source.listener;
+        this.checkpoints = source.checkpoints;
+        this.checkpointInterval = source.checkpointInterval;
+        this.dependencies.putAll(source.dependencies);
+        this.converters = source.converters.copy();
+        this.schemaClass = source.schemaClass;
+        this.mapper = source.mapper;
         this.result = new ParsefyResult<>();
     }
 
@@ -36,6 +94,11 @@ public class Parsefy<T> {
         return new Parsefy<>(clazz);
     }
 
+    // Warm-up hook - compiles and caches the schema so the first parse does not pay for reflection
+    public static <T> SchemaDefinition<T> precompile(Class<T> clazz) {
+        return SchemaReader.read(clazz);
+    }
+
     public Parsefy<T> delimiter(String delimiter) {
         this.delimiter = delimiter;
         return this;
@@ -56,14 +119,114 @@ public class Parsefy<T> {
         return this;
     }
 
+    // Tokenizers.FAST scans a reusable char buffer instead of building a CSVRecord per row
+    public Parsefy<T> tokenizer(TokenizerFactory tokenizer) {
+        this.tokenizer = tokenizer;
+        return this;
+    }
+
+    // Splits files read through parse(Path) or parse(File) into chunks parsed on this many threads.
+    // Converters and validators are then shared between threads and must be thread-safe.
+    // Compressed input is parsed on one thread, but BGZF members are inflated on this many
+    public Parsefy<T> parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    // Reads Path and File input through a memory-mapped FileChannel instead of a buffered reader chain
+    public Parsefy<T> memoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+        return this;
+    }
+
+    // Tokenizes on the calling thread while up to maxInFlight rows are converted and validated on the
+    // executor, so slow validators overlap. Rows and errors still come out in file order.
+    // Chunks of a parallel, checkpointed or followed parse are not pipelined
+    public Parsefy<T> pipelined(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, got " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    // Runs pipelined rows and parallel chunks; by default a virtual-thread executor (platform threads
+    // before Java 21) or a ForkJoinPool is created per parse. A supplied executor is never shut down
+    public Parsefy<T> executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    // Lenient mode only: aborts with ErrorBudgetExceededException as soon as the budget is exceeded
+    public Parsefy<T> errorBudget(ErrorBudget errorBudget) {
+        this.errorBudget = errorBudget;
+        return this;
+    }
+
+    // Stops converting and validating a row at its first failing field, so each RowError holds one message.
+    // Generated mappers always check the whole row
+    public Parsefy<T> shortCircuit(boolean shortCircuit) {
+        this.shortCircuit = shortCircuit;
+        return this;
+    }
+
+    // Keeps only rows whose raw cell in column matches; several filters must all match. Rejected rows are
+    // dropped before conversion and validation and only counted in getFilteredRows()
+    public Parsefy<T> filter(String column, Predicate<CharSequence> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        this.filters.merge(column, predicate, Predicate::and);
+        return this;
+    }
+
+    // Receives the counters and stage timings of every parse; JfrParseListener records them as JFR events.
+    // Without a listener nothing is timed
+    public Parsefy<T> listener(ParseListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    // Parses Path and File input (also through parseInBatches) in segments of about intervalBytes and saves a
+    // Checkpoint after each one. When the store holds a checkpoint, the parse seeks to it and only delivers
+    // the rows after it, with their original record numbers. Segments are parsed one after another
+    public Parsefy<T> checkpoints(CheckpointStore store, long intervalBytes) {
+        if (intervalBytes < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1 byte, got " + intervalBytes);
+        }
+        this.checkpoints = Objects.requireNonNull(store, "store");
+        this.checkpointInterval = intervalBytes;
+        return this;
+    }
+
+    // Freezes the current configuration into a parser that can serve any number of concurrent parses.
+    // The schema is read here, so an invalid schema fails now rather than on the first parse
+    public CompiledParser<T> compile() {
+        SchemaReader.read(schemaClass);
+        return new CompiledParser<>(new Parsefy<>(this), defaultCharset);
+    }
+
     public <D> Parsefy<T> addDependency(Class<D> type, D instance) {
         this.dependencies.put(type, instance);
         return this;
     }
 
+    // Overrides the built-in conversion for every field of this type, e.g. enums with custom codes or Money
+    public <V> Parsefy<T> converter(Class<V> type, Converter<? extends V> converter) {
+        this.converters.register(type, converter);
+        return this;
+    }
+
     public Parsefy<T> parse(Reader reader) throws Exception {
+        parse(reader, result);
+        return this;
+    }
+
+    // The parse(...) overloads below write into this builder's result, CompiledParser passes a fresh one
+    void parse(Reader reader, ParsefyResult<T> target) throws Exception {
         try (BufferedReader bufferedReader = toBufferedReader(reader)) {
-            return parseInternal(bufferedReader);
+            parseInternal(bufferedReader, target);
         }
     }
 
@@ -74,7 +237,7 @@ public class Parsefy<T> {
 
     // Convenience - InputStream with explicit encoding
     public Parsefy<T> parse(InputStream inputStream, Charset charset) throws Exception {
-        return parse(new InputStreamReader(inputStream, charset));
+        return parse(new DecodedReader(decompress(inputStream), charset));
     }
 
     // Convenience - File with default encoding
@@ -84,7 +247,19 @@ public class Parsefy<T> {
 
     // Convenience - File with explicit encoding
     public Parsefy<T> parse(File file, Charset charset) throws Exception {
-        return parse(new FileReader(file, charset));
+        parse(file, charset, result);
+        return this;
+    }
+
+    void parse(File file, Charset charset, ParsefyResult<T> target) throws Exception {
+        if (parallelism > 1 || checkpoints != null) {
+            parse(file.toPath(), charset, target);
+        } else if (memoryMapped && isPlainFile(file.toPath())) {
+            // parse(File) has always replaced malformed input, the mapped reader keeps doing so
+            parseMapped(file.toPath(), decoder(charset, CodingErrorAction.REPLACE), target);
+        } else {
+            parse(new DecodedReader(decompress(new FileInputStream(file)), charset), target);
+        }
     }
 
     // Convenience - String
@@ -98,7 +273,318 @@ public class Parsefy<T> {
     }
 
     public Parsefy<T> parse(Path path, Charset charset) throws Exception {
-        return parse(Files.newBufferedReader(path, charset));
+        parse(path, charset, result);
+        return this;
+    }
+
+    void parse(Path path, Charset charset, ParsefyResult<T> target) throws Exception {
+        if (checkpoints != null) {
+            List<T> validRows = new ArrayList<>();
+            List<RowError> errorRows = new ArrayList<>();
+            long filtered = parseCheckpointed(path, charset, Integer.MAX_VALUE, new BatchSink<T>() {
+                @Override
+                public void rows(List<T> batch) {
+                    validRows.addAll(batch);
+                }
+
+                @Override
+                public void errors(List<RowError> batch) {
+                    errorRows.addAll(batch);
+                }
+            });
+            target.setErrors(errorRows);
+            target.setValidRows(validRows);
+            target.setFilteredRows(filtered);
+        } else if (parallelism > 1 && FileChunks.supports(charset) && FileChunks.supportsDelimiter(delimiter)
+                && isPlainFile(path)) {
+            parseParallel(path, charset, target);
+        } else if (memoryMapped && isPlainFile(path)) {
+            parseMapped(path, decoder(charset, CodingErrorAction.REPORT), target);
+        } else {
+            parse(openStream(path, charset), target);
+        }
+    }
+
+    // The tokenizer reads straight from the mapped reader, a BufferedReader would only add a copy
+    private void parseMapped(Path path, CharsetDecoder decoder, ParsefyResult<T> target) throws Exception {
+        try (Reader reader = MappedFileReader.open(path, decoder)) {
+            parseInternal(reader, target);
+        }
+    }
+
+    private static CharsetDecoder decoder(Charset charset, CodingErrorAction action) {
+        return charset.newDecoder().onMalformedInput(action).onUnmappableCharacter(action);
+    }
+
+    public Stream<T> stream(Reader reader) throws IOException {
+        return stream(reader, error -> {
+        });
+    }
+
+    // Lazy - pulls one record at a time, errors are handed to errorHandler instead of being collected
+    public Stream<T> stream(Reader reader, Consumer<RowError> errorHandler) throws IOException {
+        return streamInternal(toBufferedReader(reader), errorHandler);
+    }
+
+    private Stream<T> streamInternal(Reader reader, Consumer<RowError> errorHandler) throws IOException {
+        RowIterator rows = new RowIterator(reader, errorHandler);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    public Stream<T> stream(InputStream inputStream, Consumer<RowError> errorHandler) throws IOException {
+        return stream(new DecodedReader(decompress(inputStream), defaultCharset), errorHandler);
+    }
+
+    public Stream<T> stream(Path path, Consumer<RowError> errorHandler) throws IOException {
+        return streamInternal(openReader(path), errorHandler);
+    }
+
+    // Reads records only as fast as the subscriber requests rows; cancelling closes the reader.
+    // Signals are sent on the requesting thread, or on the executor when one is configured
+    public RowPublisher<T> publisher(Reader reader) {
+        return new RowPublisher<>(errorHandler -> new RowIterator(toBufferedReader(reader), errorHandler), drainExecutor());
+    }
+
+    public RowPublisher<T> publisher(InputStream inputStream) {
+        return publisher(new DecodedReader(decompress(inputStream), defaultCharset));
+    }
+
+    // The file is opened when the first row is requested
+    public RowPublisher<T> publisher(Path path) {
+        return new RowPublisher<>(errorHandler -> new RowIterator(openReader(path), errorHandler), drainExecutor());
+    }
+
+    private Executor drainExecutor() {
+        return executor != null ? executor : Runnable::run;
+    }
+
+    // Hands every record of path to rowConsumer and keeps doing so for each complete record appended later,
+    // until the returned follower is closed. Runs on the executor, or on a thread of its own. Errors go to
+    // errorHandler in lenient mode; in strict mode, and on any other failure, the follower stops
+    public FileFollower follow(Path path, Consumer<T> rowConsumer, Consumer<RowError> errorHandler) throws IOException {
+        return follow(path, rowConsumer, errorHandler, MAX_FOLLOW_POLL);
+    }
+
+    // maxPollInterval bounds the wait for growth on platforms where the WatchService does not report it promptly
+    public FileFollower follow(Path path, Consumer<T> rowConsumer, Consumer<RowError> errorHandler,
+                               Duration maxPollInterval) throws IOException {
+        Charset charset = defaultCharset;
+        if (!FileChunks.supports(charset)) {
+            throw new IllegalArgumentException("Following needs a UTF-8, US-ASCII or ISO-8859-1 file, got " + charset);
+        }
+        if (!FileChunks.supportsDelimiter(delimiter)) {
+            throw new IllegalArgumentException("Following needs a single ASCII character delimiter, got \"" + delimiter + "\"");
+        }
+        if (DecompressingInputStream.isCompressed(path)) {
+            throw new IllegalArgumentException("Following needs an uncompressed file, " + path + " is compressed");
+        }
+        ParseMetrics metrics = newMetrics();
+        ErrorBudget.Tracker budget = newBudgetTracker();
+        FileFollower follower = new FileFollower(path, (channel, header, start, end, recordOffset) -> {
+            try (RowIterator rows = openChunk(channel, header, start, end, charset, recordOffset, errorHandler, budget,
+                    metrics, listener)) {
+                while (rows.hasNext()) {
+                    rowConsumer.accept(rows.next());
+                }
+                return rows.records;
+            }
+        }, chunkDelimiter(), maxPollInterval.toNanos(), () -> report(metrics));
+        follower.start(executor);
+        return follower;
+    }
+
+    // One array per field instead of one object per row; see Column for how each type is stored.
+    // Always sequential - parallelism, pipelining and generated mappers do not apply
+    public ColumnarResult parseColumnar(Reader reader) throws Exception {
+        return parseColumnarInternal(toBufferedReader(reader));
+    }
+
+    public ColumnarResult parseColumnar(InputStream inputStream) throws Exception {
+        return parseColumnar(new DecodedReader(decompress(inputStream), defaultCharset));
+    }
+
+    public ColumnarResult parseColumnar(String csvContent) throws Exception {
+        return parseColumnar(new StringReader(csvContent));
+    }
+
+    public ColumnarResult parseColumnar(Path path) throws Exception {
+        return parseColumnarInternal(openReader(path));
+    }
+
+    private ColumnarResult parseColumnarInternal(Reader reader) throws IOException {
+        ParseMetrics metrics = newMetrics();
+        try (CsvTokenizer records = openTokenizer(metered(reader, metrics))) {
+            return readColumns(records, metrics);
+        } finally {
+            report(metrics);
+        }
+    }
+
+    // Cells are appended to the columns straight away and validated in place; an invalid row is
+    // truncated off again, so no per-row object is ever built
+    private ColumnarResult readColumns(CsvTokenizer records, ParseMetrics metrics) throws IOException {
+        SchemaDefinition<T> schema = SchemaReader.read(schemaClass);
+        HeaderBinding binding = HeaderBinding.bind(records.header(), schema);
+        RowFilter filter = RowFilter.bind(records.header(), filters);
+        RowValidator validator = new RowValidator(schema);
+        List<FieldDefinition> fields = schema.getFields();
+        List<Column> columns = new ArrayList<>(fields.size());
+        for (FieldDefinition field : fields) {
+            Converter<?> registered = converters.find(field.getAccessor().getType());
+            columns.add(Column.of(field.getColumnName(), field.getAccessor().getType(),
+                    registered != null ? registered : field.getConverter()));
+        }
+        ErrorBudget.Tracker budget = newBudgetTracker();
+        ValidationResult rowResult = new ValidationResult();
+        List<RowError> errorRows = new ArrayList<>();
+        int rows = 0;
+        long filtered = 0;
+        while (nextRecord(records, metrics)) {
+            if (filter != null && !filter.accepts(records, trim)) {
+                filtered++;
+                if (metrics != null) {
+                    metrics.rowFiltered();
+                }
+                continue;
+            }
+            rowResult.clear();
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                long start = metrics == null ? 0 : System.nanoTime();
+                if (binding.isPresent(i)) {
+                    CharSequence cell = cellValue(records, binding.columnIndex(i));
+                    if (cell.length() == 0 && column.getType().isPrimitive()) {
+                        // parse() fails binding the empty cell to the field, so this fails the same way
+                        throw fields.get(i).getAccessor().nullToPrimitive();
+                    }
+                    column.appendCell(cell);
+                } else {
+                    column.appendNull();
+                }
+                if (metrics != null) {
+                    metrics.converted(i, System.nanoTime() - start);
+                }
+                validator.validateColumn(i, column, rows, binding, rowResult, shortCircuit, metrics);
+                if (shortCircuit && !rowResult.isValid()) {
+                    break;
+                }
+            }
+            if (rowResult.isValid()) {
+                rows++;
+                if (metrics != null) {
+                    metrics.rowValid();
+                }
+                if (budget != null) {
+                    budget.record(false);
+                }
+                continue;
+            }
+            for (Column column : columns) {
+                column.truncate(rows);
+            }
+            if (metrics != null) {
+                metrics.rowRejected();
+            }
+            if (strictMode) {
+                throw new RuntimeException(rowResult.getErrors().get(0));
+            }
+            errorRows.add(new RowError(records.recordNumber(), "validation", new ArrayList<>(rowResult.getErrors())));
+            if (budget != null && budget.record(true)) {
+                throw budget.exceeded(records.recordNumber());
+            }
+        }
+        for (Column column : columns) {
+            column.finish();
+        }
+        return new ColumnarResult(columns, rows, errorRows, filtered);
+    }
+
+    // Hands valid rows and row errors to the sink in batches of batchSize as the input is read,
+    // the last partial batches are flushed at the end
+    public Parsefy<T> parseInBatches(Reader reader, int batchSize, BatchSink<T> sink) throws Exception {
+        parseInBatchesInternal(toBufferedReader(reader), batchSize, sink);
+        return this;
+    }
+
+    public Parsefy<T> parseInBatches(InputStream inputStream, int batchSize, BatchSink<T> sink) throws Exception {
+        return parseInBatches(new DecodedReader(decompress(inputStream), defaultCharset), batchSize, sink);
+    }
+
+    public Parsefy<T> parseInBatches(Path path, int batchSize, BatchSink<T> sink) throws Exception {
+        if (checkpoints != null) {
+            parseCheckpointed(path, defaultCharset, batchSize, sink);
+        } else {
+            parseInBatchesInternal(openReader(path), batchSize, sink);
+        }
+        return this;
+    }
+
+    private void parseInBatchesInternal(Reader reader, int batchSize, BatchSink<T> sink) throws Exception {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        List<T> rowBatch = new ArrayList<>(batchSize);
+        List<RowError> errorBatch = new ArrayList<>();
+        List<RowError> pendingErrors = new ArrayList<>(1);
+        try (RowIterator rows = new RowIterator(reader, pendingErrors::add)) {
+            while (!rows.isDone()) {
+                if (rows.poll()) {
+                    rowBatch.add(rows.next());
+                    if (rowBatch.size() == batchSize) {
+                        sink.rows(rowBatch);
+                        rowBatch.clear();
+                    }
+                }
+                drainErrors(pendingErrors, errorBatch, batchSize, sink);
+            }
+        }
+        drainErrors(pendingErrors, errorBatch, batchSize, sink);
+        if (!rowBatch.isEmpty()) {
+            sink.rows(rowBatch);
+        }
+        if (!errorBatch.isEmpty()) {
+            sink.errors(errorBatch);
+        }
+    }
+
+    // poll() reports at most one error, so no more than one batch of errors is ever held
+    private void drainErrors(List<RowError> pending, List<RowError> batch, int batchSize, BatchSink<T> sink) throws Exception {
+        for (int i = 0; i < pending.size(); i++) {
+            batch.add(pending.get(i));
+            if (batch.size() == batchSize) {
+                sink.errors(batch);
+                batch.clear();
+            }
+        }
+        pending.clear();
+    }
+
+    private Reader openReader(Path path) throws IOException {
+        if (memoryMapped && isPlainFile(path)) {
+            return MappedFileReader.open(path, decoder(defaultCharset, CodingErrorAction.REPORT));
+        }
+        return openStream(path, defaultCharset);
+    }
+
+    // Chunks and mappings need the plain text of a regular file. Everything else is read as a stream,
+    // which recognizes compressed input from the bytes the parse reads anyway
+    private static boolean isPlainFile(Path path) throws IOException {
+        return Files.isRegularFile(path) && !DecompressingInputStream.isCompressed(path);
+    }
+
+    // Reports malformed input like Files.newBufferedReader
+    private static Reader openPlain(Path path, Charset charset) throws IOException {
+        return new DecodedReader(Files.newInputStream(path), decoder(charset, CodingErrorAction.REPORT));
+    }
+
+    private Reader openStream(Path path, Charset charset) throws IOException {
+        return new DecodedReader(decompress(Files.newInputStream(path)), decoder(charset, CodingErrorAction.REPORT));
+    }
+
+    // gzip and zlib input is inflated on a background thread; with parallelism > 1, BGZF members in parallel
+    InputStream decompress(InputStream inputStream) {
+        return new DecompressingInputStream(inputStream, parallelism, executor);
     }
 
     public Parsefy<T> defaultCharset(Charset charset) {
@@ -112,78 +598,850 @@ public class Parsefy<T> {
                 : new BufferedReader(reader);
     }
 
-    private Parsefy<T> parseInternal(Reader reader) throws Exception {
+    private void parseInternal(Reader reader, ParsefyResult<T> target) throws Exception {
         List<T> validRows = new ArrayList<>();
         List<RowError> errorRows = new ArrayList<>();
-        CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
-                .setDelimiter(this.delimiter)
-                .setTrim(this.trim)
-                .setHeader()
-                .get();
+        long filtered;
+        try (RowIterator rows = new RowIterator(reader, errorRows::add)) {
+            while (rows.hasNext()) {
+                validRows.add(rows.next());
+            }
+            filtered = rows.filtered;
+        }
+        target.setErrors(errorRows);
+        target.setValidRows(validRows);
+        target.setFilteredRows(filtered);
+    }
 
-        CSVParser parser = CSVParser.parse(reader, csvFormat);
-        List<CSVRecord> records = parser.getRecords();
+    // Every chunk is parsed behind a copy of the header bytes, so it binds columns like a whole file would.
+    // Record numbers are chunk-relative until the chunks are merged back in file order
+    private void parseParallel(Path path, Charset charset, ParsefyResult<T> target) throws Exception {
+        ExecutorService pool = executor != null ? executor : new ForkJoinPool(parallelism);
+        List<Future<Chunk<T>>> chunks = new ArrayList<>();
+        ParseMetrics metrics = null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long headerEnd = FileChunks.headerEnd(channel, chunkDelimiter());
+            if (headerEnd < 0) {
+                parse(openPlain(path, charset), target);
+                return;
+            }
+            byte[] header = FileChunks.read(channel, 0, headerEnd);
+            metrics = newMetrics();
+            long[] bounds = FileChunks.split(channel, headerEnd, channel.size(), chunkDelimiter(),
+                    parallelism * CHUNKS_PER_THREAD, MIN_CHUNK_SIZE, pool);
 
-        SchemaDefinition<T> schema = SchemaReader.read(schemaClass);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                chunks.add(pool.submit(() -> parseChunk(channel, header, start, end, charset, 0, newBudgetTracker(), true)));
+            }
 
-        for (CSVRecord record : records) {
-            T instance = convertToObject(schema, record);
-            ValidationResult result = validateRecord(instance, schema, record);
-            if (result.isValid()) {
-                validRows.add(instance);
-            } else {
-                if (strictMode) {
-                    throw new RuntimeException(result.getErrors().get(0));
-                } else {
-                    errorRows.add(new RowError(record.getRecordNumber(), "validation", result.getErrors()));
+            List<T> validRows = new ArrayList<>();
+            List<RowError> errorRows = new ArrayList<>();
+            // Chunks only see their own rows, the budget over the whole file is checked here in file order
+            ErrorBudget.Tracker budget = newBudgetTracker();
+            long recordOffset = 0;
+            long filtered = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                Chunk<T> chunk;
+                try {
+                    chunk = chunks.get(i).get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        // Parse the failed chunk again with its real record offset so the exception
+                        // reads exactly like the one a sequential parse would have thrown
+                        parseChunk(channel, header, bounds[i], bounds[i + 1], charset, recordOffset, budget, false);
+                    }
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+                if (budget != null) {
+                    replayBudget(budget, chunk, recordOffset);
+                }
+                if (chunk.timings != null) {
+                    chunk.timings.replay(listener, recordOffset);
+                }
+                validRows.addAll(chunk.rows);
+                for (RowError error : chunk.errors) {
+                    errorRows.add(new RowError(recordOffset + error.getRowNumber(), error.getFieldName(), error.getErrors()));
                 }
+                recordOffset += chunk.records;
+                filtered += chunk.filtered;
+                if (metrics != null) {
+                    metrics.add(chunk.metrics);
+                }
+            }
+            target.setErrors(errorRows);
+            target.setValidRows(validRows);
+            target.setFilteredRows(filtered);
+        } finally {
+            for (Future<Chunk<T>> chunk : chunks) {
+                chunk.cancel(true);
+            }
+            if (pool != executor) {
+                pool.shutdown();
             }
+            report(metrics);
+        }
+    }
+
+    // Each segment is parsed like a parallel chunk behind a copy of the header, with the record numbers
+    // before it as offset. Its rows and errors are handed to the sink, then the checkpoint after it is saved.
+    // Returns the number of filtered rows
+    private long parseCheckpointed(Path path, Charset charset, int batchSize, BatchSink<T> sink) throws Exception {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        if (!FileChunks.supports(charset)) {
+            throw new IllegalArgumentException("Checkpoints need a UTF-8, US-ASCII or ISO-8859-1 file, got " + charset);
+        }
+        if (!FileChunks.supportsDelimiter(delimiter)) {
+            throw new IllegalArgumentException("Checkpoints need a single ASCII character delimiter, got \"" + delimiter + "\"");
+        }
+        if (DecompressingInputStream.isCompressed(path)) {
+            throw new IllegalArgumentException("Checkpoints need an uncompressed file, " + path + " is compressed");
+        }
+        ParseMetrics metrics = null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long headerEnd = FileChunks.headerEnd(channel, chunkDelimiter());
+            if (headerEnd < 0) {
+                // No record after the header, there is nothing to resume
+                parseInBatchesInternal(openPlain(path, charset), batchSize, sink);
+                checkpoints.clear();
+                return 0;
+            }
+            byte[] header = FileChunks.read(channel, 0, headerEnd);
+            long end = channel.size();
+            long start = headerEnd;
+            long recordOffset = 0;
+            Checkpoint checkpoint = checkpoints.load();
+            if (checkpoint != null) {
+                start = checkpoint.getByteOffset();
+                recordOffset = checkpoint.getRecordNumber();
+                checkBoundary(channel, path, checkpoint, headerEnd);
+            }
+            metrics = newMetrics();
+            ErrorBudget.Tracker budget = newBudgetTracker();
+            long filtered = 0;
+            while (start < end) {
+                long segmentEnd = FileChunks.boundaryAfter(channel, start, start + checkpointInterval, end,
+                        chunkDelimiter());
+                Chunk<T> chunk = parseChunk(channel, header, start, segmentEnd, charset, recordOffset, budget, false);
+                if (metrics != null) {
+                    metrics.add(chunk.metrics);
+                }
+                deliver(chunk.rows, batchSize, sink::rows);
+                deliver(chunk.errors, batchSize, sink::errors);
+                filtered += chunk.filtered;
+                recordOffset += chunk.records;
+                start = segmentEnd;
+                checkpoints.save(new Checkpoint(start, recordOffset));
+            }
+            checkpoints.clear();
+            return filtered;
+        } finally {
+            report(metrics);
+        }
+    }
+
+    // A checkpoint always sits right after a line break, anything else belongs to another file
+    private static void checkBoundary(FileChannel channel, Path path, Checkpoint checkpoint, long headerEnd)
+            throws IOException {
+        long offset = checkpoint.getByteOffset();
+        boolean valid = offset >= headerEnd && offset <= channel.size()
+                && (offset == headerEnd || FileChunks.read(channel, offset - 1, offset)[0] == '\n');
+        if (!valid) {
+            throw new IllegalStateException(checkpoint + " is not at a record boundary of " + path);
+        }
+    }
+
+    private interface BatchConsumer<E> {
+        void accept(List<E> batch) throws Exception;
+    }
+
+    private static <E> void deliver(List<E> items, int batchSize, BatchConsumer<E> consumer) throws Exception {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            consumer.accept(items.subList(from, (int) Math.min(items.size(), (long) from + batchSize)));
+        }
+    }
+
+    // Only called once FileChunks.supportsDelimiter accepted the delimiter
+    private byte chunkDelimiter() {
+        return (byte) delimiter.charAt(0);
+    }
+
+    private ErrorBudget.Tracker newBudgetTracker() {
+        return errorBudget == null ? null : errorBudget.newTracker();
+    }
+
+    private ParseMetrics newMetrics() {
+        return listener == null ? null : new ParseMetrics(SchemaReader.read(schemaClass));
+    }
+
+    private static Reader metered(Reader reader, ParseMetrics metrics) {
+        return metrics == null ? reader : new MeteredReader(reader, metrics);
+    }
+
+    private void report(ParseMetrics metrics) {
+        if (metrics != null) {
+            metrics.finish();
+            listener.parseFinished(metrics);
         }
-        this.result.setErrors(errorRows);
-        this.result.setValidRows(validRows);
-        return this;
+    }
+
+    // Tokenizing time is the time spent in next() minus the reads it made
+    private static boolean nextRecord(CsvTokenizer records, ParseMetrics metrics) throws IOException {
+        if (metrics == null) {
+            return records.next();
+        }
+        long read = metrics.readNanos();
+        long start = System.nanoTime();
+        boolean more = records.next();
+        metrics.tokenized(System.nanoTime() - start - (metrics.readNanos() - read));
+        if (more) {
+            metrics.rowRead();
+        }
+        return more;
+    }
+
+    private static void replayBudget(ErrorBudget.Tracker budget, Chunk<?> chunk, long recordOffset) {
+        int nextError = 0;
+        for (long record = 1; record <= chunk.records; record++) {
+            if (chunk.filteredRecords != null && chunk.filteredRecords.get((int) record)) {
+                continue;
+            }
+            boolean failed = nextError < chunk.errors.size() && chunk.errors.get(nextError).getRowNumber() == record;
+            if (failed) {
+                nextError++;
+            }
+            if (budget.record(failed)) {
+                throw budget.exceeded(recordOffset + record);
+            }
+        }
+    }
+
+    // Row callbacks of a deferred chunk are kept until its record offset is known, see parseParallel
+    private Chunk<T> parseChunk(FileChannel channel, byte[] header, long start, long end, Charset charset, long recordOffset,
+                                ErrorBudget.Tracker budget, boolean deferRows) throws IOException {
+        Chunk<T> chunk = new Chunk<>();
+        chunk.metrics = newMetrics();
+        ParseListener rowListener = listener;
+        if (listener != null && deferRows) {
+            rowListener = chunk.timings = new RowTimings();
+        }
+        try (RowIterator rows = openChunk(channel, header, start, end, charset, recordOffset, chunk.errors::add, budget,
+                chunk.metrics, rowListener)) {
+            if (budget != null && !filters.isEmpty()) {
+                rows.filteredRecords = chunk.filteredRecords = new BitSet();
+            }
+            while (rows.hasNext()) {
+                chunk.rows.add(rows.next());
+            }
+            chunk.records = rows.records;
+            chunk.filtered = rows.filtered;
+        }
+        return chunk;
+    }
+
+    // Rows of the byte range [start, end), read behind a copy of the header. Only the bytes of the range are
+    // metered, the caller reports the metrics
+    private RowIterator openChunk(FileChannel channel, byte[] header, long start, long end, Charset charset,
+                                  long recordOffset, Consumer<RowError> errorHandler, ErrorBudget.Tracker budget,
+                                  ParseMetrics metrics, ParseListener rowListener) throws IOException {
+        Reader range = metered(new DecodedReader(FileChunks.open(channel, start, end), charset), metrics);
+        CsvTokenizer records = openTokenizer(new HeaderedReader(new String(header, charset), range));
+        CsvTokenizer offsetRecords = recordOffset == 0 ? records : new OffsetTokenizer(records, recordOffset);
+        RowIterator rows = new RowIterator(offsetRecords, errorHandler, budget, metrics, false);
+        rows.listener = rowListener;
+        rows.reportsMetrics = false;
+        return rows;
+    }
+
+    private CsvTokenizer openTokenizer(Reader reader) throws IOException {
+        return tokenizer.open(reader, new TokenizerOptions(this.delimiter, this.trim, projection()));
+    }
+
+    // Only the schema's columns are ever read, so tokenizers that support it can skip the rest
+    private Set<String> projection() {
+        Set<String> columns = new HashSet<>();
+        for (FieldDefinition field : SchemaReader.read(schemaClass).getFields()) {
+            columns.add(field.getColumnName());
+        }
+        columns.addAll(filters.keySet());
+        return columns;
     }
 
     public ParsefyResult<T> getResult() {
         return this.result;
     }
 
-    private ValidationResult validateRecord(T instance, SchemaDefinition<T> schema, CSVRecord record) throws Exception {
-        ValidationResult result = new ValidationResult();
-        for (FieldDefinition fieldDef : schema.getFields()) {
-            Object value = fieldDef.getValue(instance);
-            List<FieldValidator<?>> validators = fieldDef.getValidators();
-            for (FieldValidator<?> validator : validators) {
-                ValidationResult fieldResult = ((FieldValidator<Object>) validator).validate(value);
-                if (shouldIgnoreValidationError(fieldDef, fieldResult, record)) continue;
-                result.merge(fieldResult);
+    // Required columns are checked once in HeaderBinding, so only present columns are read here
+    private T convertToObject(SchemaDefinition<T> schema, HeaderBinding binding, CellBinder[] binders, CsvTokenizer record,
+                              ParseMetrics metrics) {
+        T instance = schema.newInstance();
+        for (int i = 0; i < binders.length; i++) {
+            if (binding.isPresent(i)) {
+                bindCell(instance, binders[i], record, binding.columnIndex(i), i, metrics);
+            }
+        }
+        return instance;
+    }
+
+    // Converts and validates field by field and returns as soon as a field fails
+    private T convertUntilInvalid(SchemaDefinition<T> schema, HeaderBinding binding, CellBinder[] binders,
+                                  RowValidator validator, CsvTokenizer record, ValidationResult result, ParseMetrics metrics) {
+        T instance = schema.newInstance();
+        for (int i = 0; i < binders.length; i++) {
+            if (binding.isPresent(i)) {
+                bindCell(instance, binders[i], record, binding.columnIndex(i), i, metrics);
+            }
+            validator.validateField(i, instance, binding, result, true, metrics);
+            if (!result.isValid()) {
+                break;
             }
         }
-        return result;
+        return instance;
+    }
+
+    private void bindCell(T instance, CellBinder binder, CsvTokenizer record, int column, int field, ParseMetrics metrics) {
+        if (metrics == null) {
+            binder.bind(instance, cellValue(record, column));
+            return;
+        }
+        long start = System.nanoTime();
+        binder.bind(instance, cellValue(record, column));
+        metrics.converted(field, System.nanoTime() - start);
     }
 
-    private boolean shouldIgnoreValidationError(
-            FieldDefinition fieldDef,
-            ValidationResult fieldResult,
-            CSVRecord record) {
-        // Ignore validation errors for optional fields that don't exist in the CSV
-        boolean isOptionalField = !fieldDef.isRequired();
-        boolean hasValidationError = !fieldResult.isValid();
-        boolean columnNotInCsv = !record.isMapped(fieldDef.getColumnName());
+    private CharSequence cellValue(CsvTokenizer record, int column) {
+        CharSequence value = cellView(record, column);
+        // The CSV format already trims when trim(true) is set
+        return trim ? value : value.toString().trim();
+    }
 
-        return isOptionalField && hasValidationError && columnNotInCsv;
+    private CellBinder[] resolveBinders(SchemaDefinition<T> schema) {
+        List<FieldDefinition> fields = schema.getFields();
+        CellBinder[] resolved = new CellBinder[fields.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            FieldAccessor accessor = fields.get(i).getAccessor();
+            Converter<?> registered = converters.find(accessor.getType());
+            int dedupeSize = fields.get(i).getDedupeSize();
+            resolved[i] = new CellBinder(accessor, registered != null ? registered : fields.get(i).getConverter(),
+                    dedupeSize > 0 ? new StringDeduplicator(dedupeSize) : null);
+        }
+        return resolved;
     }
 
-    private T convertToObject(SchemaDefinition<T> schema, CSVRecord record) throws Exception {
-        T instance = schema.getClazz().getDeclaredConstructor().newInstance();
-        for (FieldDefinition fieldDefinition : schema.getFields()) {
-            if (record.isMapped(fieldDefinition.getColumnName())) {
-                Object value = TypeConverter.convert(record.get(fieldDefinition.getColumnName()), fieldDefinition.getField().getType(), fieldDefinition.getField());
-                fieldDefinition.setValue(instance, value);
-            } else if (fieldDefinition.isRequired()) {
-                throw new RuntimeException("Required field '" + fieldDefinition.getColumnName() + "' is missing");
+    private T mapRecord(RowMapper<T> mapper, CsvTokenizer record, HeaderBinding binding, StringDeduplicator[] deduplicators,
+                        String[] values, ValidationResult result, ParseMetrics metrics) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        for (int i = 0; i < values.length; i++) {
+            if (!binding.isPresent(i)) {
+                values[i] = null;
+            } else if (deduplicators[i] != null) {
+                values[i] = deduplicators[i].dedupe(cellView(record, binding.columnIndex(i)));
+            } else {
+                values[i] = cell(record, binding.columnIndex(i));
             }
         }
-        return instance;
+        T row = mapper.map(values, result);
+        if (metrics != null) {
+            metrics.converted(System.nanoTime() - start);
+        }
+        return row;
+    }
+
+    // Generated mappers take raw cell Strings, so @Dedupe columns are deduplicated before they are handed over
+    private StringDeduplicator[] resolveDeduplicators(RowMapper<T> mapper) {
+        Map<String, Integer> dedupeSizes = new HashMap<>();
+        for (FieldDefinition field : SchemaReader.read(schemaClass).getFields()) {
+            dedupeSizes.put(field.getColumnName(), field.getDedupeSize());
+        }
+        List<String> columns = mapper.getColumnNames();
+        StringDeduplicator[] resolved = new StringDeduplicator[columns.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            int dedupeSize = dedupeSizes.getOrDefault(columns.get(i), 0);
+            resolved[i] = dedupeSize > 0 ? new StringDeduplicator(dedupeSize) : null;
+        }
+        return resolved;
+    }
+
+    private static String cell(CsvTokenizer record, int index) {
+        checkCell(record, index);
+        return record.getString(index);
+    }
+
+    static CharSequence cellView(CsvTokenizer record, int index) {
+        checkCell(record, index);
+        return record.cell(index);
+    }
+
+    private static void checkCell(CsvTokenizer record, int index) {
+        if (index >= record.size()) {
+            throw new IllegalArgumentException("Record " + record.recordNumber() + " has only " + record.size()
+                    + " values, column " + (index + 1) + " is missing");
+        }
+    }
+
+    private class RowIterator implements RowCursor<T> {
+        private final CsvTokenizer tokenizer;
+        private final SchemaDefinition<T> schema;
+        private final HeaderBinding binding;
+        private final CellBinder[] binders;
+        private final RowValidator validator;
+        // Reused for every row converted on the calling thread
+        private final ValidationResult rowResult = new ValidationResult();
+        private final RowMapper<T> mapper;
+        private final String[] values;
+        private final StringDeduplicator[] deduplicators;
+        private final Consumer<RowError> errorHandler;
+        private final ArrayDeque<CompletableFuture<PendingRow<T>>> inFlight;
+        private final ExecutorService pipelineExecutor;
+        private final ErrorBudget.Tracker budget;
+        private final RowFilter filter;
+        private final ParseMetrics metrics;
+        private ParseListener listener = Parsefy.this.listener;
+        private boolean reportsMetrics = true;
+        // Record numbers of filtered rows, only kept for chunks of a parallel parse with an error budget
+        private BitSet filteredRecords;
+        private T next;
+        private long records;
+        private long filtered;
+        private boolean exhausted;
+        private boolean closed;
+
+        RowIterator(Reader reader, Consumer<RowError> errorHandler) throws IOException {
+            this(reader, errorHandler, newMetrics());
+        }
+
+        private RowIterator(Reader reader, Consumer<RowError> errorHandler, ParseMetrics metrics) throws IOException {
+            this(openTokenizer(metered(reader, metrics)), errorHandler, newBudgetTracker(), metrics, maxInFlight > 0);
+        }
+
+        // Chunk iterators already run on the executor, waiting there for rows pipelined to the same
+        // executor would deadlock a bounded pool, so they convert on their own thread
+        RowIterator(CsvTokenizer tokenizer, Consumer<RowError> errorHandler, ErrorBudget.Tracker budget,
+                    ParseMetrics metrics, boolean pipelined) throws IOException {
+            this.tokenizer = tokenizer;
+            this.budget = budget;
+            this.metrics = metrics;
+            // Generated mappers only know the built-in conversions
+            this.mapper = converters.isEmpty() ? Parsefy.this.mapper : null;
+            this.schema = mapper == null ? SchemaReader.read(schemaClass) : null;
+            this.binders = mapper == null ? resolveBinders(schema) : null;
+            this.validator = mapper == null ? new RowValidator(schema) : null;
+            this.values = mapper == null ? null : new String[mapper.getColumnNames().size()];
+            this.deduplicators = mapper == null ? null : resolveDeduplicators(mapper);
+            this.errorHandler = errorHandler;
+            this.inFlight = pipelined ? new ArrayDeque<>(maxInFlight) : null;
+            this.pipelineExecutor = !pipelined ? null : executor != null ? executor : PipelineExecutors.newDefault();
+            try {
+                List<String> header = tokenizer.header();
+                this.binding = mapper == null ? HeaderBinding.bind(header, schema) : HeaderBinding.bind(header, mapper);
+                this.filter = RowFilter.bind(header, filters);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !closed) {
+                step();
+            }
+            return next != null;
+        }
+
+        @Override
+        public boolean poll() {
+            if (next == null && !closed) {
+                step();
+            }
+            return next != null;
+        }
+
+        @Override
+        public boolean isDone() {
+            return next == null && closed;
+        }
+
+        private void step() {
+            if (inFlight != null) {
+                if (fillPipeline()) {
+                    next = completeHead();
+                } else {
+                    close();
+                }
+                return;
+            }
+            long started = metrics == null ? 0 : System.nanoTime();
+            if (!advance()) {
+                close();
+                return;
+            }
+            if (!rejected()) {
+                next = processRecord(tokenizer, started);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = next;
+            next = null;
+            return row;
+        }
+
+        private boolean advance() {
+            try {
+                if (nextRecord(tokenizer, metrics)) {
+                    records++;
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean rejected() {
+            try {
+                if (filter == null || filter.accepts(tokenizer, trim)) {
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            filtered++;
+            if (metrics != null) {
+                metrics.rowFiltered();
+            }
+            if (filteredRecords != null) {
+                filteredRecords.set((int) records);
+            }
+            return true;
+        }
+
+        private T processRecord(CsvTokenizer record, long started) {
+            try {
+                T instance;
+                rowResult.clear();
+                if (mapper != null) {
+                    instance = mapRecord(mapper, record, binding, deduplicators, values, rowResult, metrics);
+                } else {
+                    instance = buildRow(record, rowResult);
+                }
+                T row = accept(instance, rowResult, record.recordNumber());
+                if (listener != null) {
+                    listener.rowParsed(record.recordNumber(), System.nanoTime() - started);
+                }
+                return row;
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private T buildRow(CsvTokenizer record, ValidationResult result) {
+            if (shortCircuit) {
+                return convertUntilInvalid(schema, binding, binders, validator, record, result, metrics);
+            }
+            T instance = convertToObject(schema, binding, binders, record, metrics);
+            validator.validate(instance, binding, result, metrics);
+            return instance;
+        }
+
+        private T accept(T instance, ValidationResult result, long recordNumber) {
+            if (result.isValid()) {
+                if (metrics != null) {
+                    metrics.rowValid();
+                }
+                if (budget != null) {
+                    budget.record(false);
+                }
+                return instance;
+            }
+            if (metrics != null) {
+                metrics.rowRejected();
+            }
+            if (strictMode) {
+                throw new RuntimeException(result.getErrors().get(0));
+            }
+            // The row result is reused, so the error list is copied
+            errorHandler.accept(new RowError(recordNumber, "validation", new ArrayList<>(result.getErrors())));
+            if (budget != null && budget.record(true)) {
+                throw budget.exceeded(recordNumber);
+            }
+            return null;
+        }
+
+        // Cell views are only valid until the next record, so each row is copied before it is handed off
+        private boolean fillPipeline() {
+            while (!exhausted && inFlight.size() < maxInFlight) {
+                long started = metrics == null ? 0 : System.nanoTime();
+                if (!advance()) {
+                    exhausted = true;
+                    break;
+                }
+                if (rejected()) {
+                    continue;
+                }
+                CsvTokenizer record = new RecordCopy(tokenizer, binding);
+                long tokenized = metrics == null ? 0 : System.nanoTime() - started;
+                try {
+                    inFlight.add(CompletableFuture.supplyAsync(() -> convert(record, tokenized), pipelineExecutor));
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+            return !inFlight.isEmpty();
+        }
+
+        // tokenized is the time the calling thread spent on the record, converting is added to it
+        private PendingRow<T> convert(CsvTokenizer record, long tokenized) {
+            long start = metrics == null ? 0 : System.nanoTime();
+            PendingRow<T> row = new PendingRow<>(record.recordNumber());
+            row.result = new ValidationResult();
+            try {
+                if (mapper != null) {
+                    row.instance = mapRecord(mapper, record, binding, deduplicators, new String[values.length], row.result, metrics);
+                } else {
+                    row.instance = buildRow(record, row.result);
+                }
+            } catch (RuntimeException e) {
+                row.failure = e;
+            }
+            if (metrics != null) {
+                row.nanos = tokenized + System.nanoTime() - start;
+            }
+            return row;
+        }
+
+        private T completeHead() {
+            try {
+                PendingRow<T> row = inFlight.poll().join();
+                if (row.failure != null) {
+                    throw row.failure;
+                }
+                T accepted = accept(row.instance, row.result, row.recordNumber);
+                if (listener != null) {
+                    listener.rowParsed(row.recordNumber, row.nanos);
+                }
+                return accepted;
+            } catch (CompletionException e) {
+                close();
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (inFlight != null) {
+                for (CompletableFuture<PendingRow<T>> row : inFlight) {
+                    row.cancel(false);
+                }
+                inFlight.clear();
+                if (pipelineExecutor != executor) {
+                    pipelineExecutor.shutdown();
+                }
+            }
+            try {
+                tokenizer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (reportsMetrics) {
+                    report(metrics);
+                }
+            }
+        }
+    }
+
+    private static final class PendingRow<T> {
+        private final long recordNumber;
+        private T instance;
+        private ValidationResult result;
+        private RuntimeException failure;
+        private long nanos;
+
+        PendingRow(long recordNumber) {
+            this.recordNumber = recordNumber;
+        }
+    }
+
+    private static final class Chunk<T> {
+        private final List<T> rows = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long records;
+        private long filtered;
+        private BitSet filteredRecords;
+        private ParseMetrics metrics;
+        private RowTimings timings;
+    }
+
+    // Row callbacks of a parallel chunk, replayed on the calling thread in file order once the chunk is merged
+    private static final class RowTimings implements ParseListener {
+        private long[] rowNumbers = new long[256];
+        private long[] nanos = new long[256];
+        private int size;
+
+        @Override
+        public void rowParsed(long rowNumber, long rowNanos) {
+            if (size == rowNumbers.length) {
+                rowNumbers = Arrays.copyOf(rowNumbers, size * 2);
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            rowNumbers[size] = rowNumber;
+            nanos[size] = rowNanos;
+            size++;
+        }
+
+        @Override
+        public void parseFinished(ParseMetrics metrics) {
+        }
+
+        void replay(ParseListener listener, long recordOffset) {
+            for (int i = 0; i < size; i++) {
+                listener.rowParsed(recordOffset + rowNumbers[i], nanos[i]);
+            }
+        }
+    }
+
+    // A chunk behind the text of the header, which is never metered
+    private static final class HeaderedReader extends Reader {
+        private final String header;
+        private final Reader chunk;
+        private int position;
+
+        HeaderedReader(String header, Reader chunk) {
+            this.header = header;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) throws IOException {
+            if (position == header.length()) {
+                return chunk.read(chars, offset, length);
+            }
+            int count = Math.min(length, header.length() - position);
+            header.getChars(position, position + count, chars, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            chunk.close();
+        }
+    }
+
+    // Shifts record numbers of a chunk that does not start at the top of the file
+    private static final class OffsetTokenizer implements CsvTokenizer {
+        private final CsvTokenizer delegate;
+        private final long offset;
+
+        OffsetTokenizer(CsvTokenizer delegate, long offset) {
+            this.delegate = delegate;
+            this.offset = offset;
+        }
+
+        @Override
+        public List<String> header() {
+            return delegate.header();
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            return delegate.next();
+        }
+
+        @Override
+        public long recordNumber() {
+            return offset + delegate.recordNumber();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public CharSequence cell(int index) {
+            return delegate.cell(index);
+        }
+
+        @Override
+        public String getString(int index) {
+            return delegate.getString(index);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    // Detached copy of the current record for rows converted on another thread
+    private static final class RecordCopy implements CsvTokenizer {
+        private final String[] cells;
+        private final long recordNumber;
+
+        // Only the bound columns are copied, the other cells stay null
+        RecordCopy(CsvTokenizer record, HeaderBinding binding) {
+            this.cells = new String[record.size()];
+            for (int i = 0; i < binding.size(); i++) {
+                int column = binding.columnIndex(i);
+                if (binding.isPresent(i) && column < cells.length) {
+                    cells[column] = record.getString(column);
+                }
+            }
+            this.recordNumber = record.recordNumber();
+        }
+
+        @Override
+        public List<String> header() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean next() {
+            return false;
+        }
+
+        @Override
+        public long recordNumber() {
+            return recordNumber;
+        }
+
+        @Override
+        public int size() {
+            return cells.length;
+        }
+
+        @Override
+        public CharSequence cell(int index) {
+            return cells[index];
+        }
+
+        @Override
+        public String getString(int index) {
+            return cells[index];
+        }
+
+        @Override
+        public void close() {
+        }
     }
 }
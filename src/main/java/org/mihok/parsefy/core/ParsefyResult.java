@@ -8,6 +8,7 @@ public class ParsefyResult<T> {
 
     private List<RowError> errors;
     private List<T> validRows;
+    private long filteredRows;
 
 
     public List<T> getValidRows() {
@@ -26,6 +27,15 @@ public class ParsefyResult<T> {
         this.errors = errors;
     }
 
+    // Rows dropped by the builder's filters, they are neither valid rows nor errors
+    public long getFilteredRows() {
+        return filteredRows;
+    }
+
+    public void setFilteredRows(long filteredRows) {
+        this.filteredRows = filteredRows;
+    }
+
     public boolean hasErrors() {
         return !errors.isEmpty();
     }
@@ -0,0 +1,40 @@
+package org.mihok.parsefy.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Default executor for pipelined parsing. Virtual threads need Java 21 while the library is compiled for
+// Java 11, so they are looked up reflectively and used only when the running JVM has them; otherwise a cached
+// pool of daemon threads is used, which never grows past the number of rows in flight.
+final class PipelineExecutors {
+    private static final Method VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private PipelineExecutors() {
+    }
+
+    static ExecutorService newDefault() {
+        if (VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException ignored) {
+                // Falls through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "parsefy-pipeline-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.mihok.parsefy.core;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+// A row iterator over an open input; closing it closes the input
+interface RowCursor<T> extends Iterator<T>, Closeable {
+
+    // Handles at most one record, so at most one error is reported per call. True when next() has a row
+    boolean poll();
+
+    // True once the input is exhausted and every row has been taken
+    boolean isDone();
+
+    @Override
+    void close();
+
+    interface Factory<T> {
+        RowCursor<T> open(Consumer<RowError> errorHandler) throws Exception;
+    }
+}
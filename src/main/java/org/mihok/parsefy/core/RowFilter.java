@@ -0,0 +1,56 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.tokenizer.CsvTokenizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Builder filters resolved against one file's header. They see the raw cell view (trimmed like the
+// value a converter would get) and run before the row is converted, so a rejected row costs one scan
+final class RowFilter {
+    private final int[] columns;
+    private final List<Predicate<CharSequence>> predicates;
+
+    private RowFilter(int[] columns, List<Predicate<CharSequence>> predicates) {
+        this.columns = columns;
+        this.predicates = predicates;
+    }
+
+    // Null when there is nothing to filter
+    static RowFilter bind(List<String> header, Map<String, Predicate<CharSequence>> filters) {
+        if (filters.isEmpty() || header.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            indexes.put(header.get(i), i);
+        }
+        int[] columns = new int[filters.size()];
+        List<Predicate<CharSequence>> predicates = new ArrayList<>(filters.size());
+        for (Map.Entry<String, Predicate<CharSequence>> filter : filters.entrySet()) {
+            Integer index = indexes.get(filter.getKey());
+            if (index == null) {
+                throw new RuntimeException("Filter column '" + filter.getKey() + "' is missing");
+            }
+            columns[predicates.size()] = index;
+            predicates.add(filter.getValue());
+        }
+        return new RowFilter(columns, predicates);
+    }
+
+    boolean accepts(CsvTokenizer record, boolean trimmed) {
+        for (int i = 0; i < columns.length; i++) {
+            CharSequence value = Parsefy.cellView(record, columns[i]);
+            if (!trimmed) {
+                value = value.toString().trim();
+            }
+            if (!predicates.get(i).test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.validation.ValidationResult;
+
+import java.util.List;
+
+// Implemented by the mappers that parsefy-processor generates for @CsvSchema classes.
+// values[i] holds the raw cell of the i-th column, or null when the column is not in the file.
+public interface RowMapper<T> {
+    String GENERATED_SUFFIX = "_ParsefyMapper";
+
+    List<String> getColumnNames();
+
+    boolean isRequired(int index);
+
+    T map(String[] values, ValidationResult result);
+}
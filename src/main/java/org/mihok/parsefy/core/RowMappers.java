@@ -0,0 +1,43 @@
+package org.mihok.parsefy.core;
+
+public final class RowMappers {
+    private static final ClassValue<RowMapper<?>> CACHE = new ClassValue<RowMapper<?>>() {
+        @Override
+        protected RowMapper<?> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private RowMappers() {
+    }
+
+    // Returns the generated mapper for the schema, or null when the processor did not run for it
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> find(Class<T> clazz) {
+        return (RowMapper<T>) CACHE.get(clazz);
+    }
+
+    public static String mapperName(Class<?> clazz) {
+        String packageName = clazz.getPackage() == null ? "" : clazz.getPackage().getName();
+        String simpleName = packageName.isEmpty() ? clazz.getName() : clazz.getName().substring(packageName.length() + 1);
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        return prefix + simpleName.replace('$', '_') + RowMapper.GENERATED_SUFFIX;
+    }
+
+    private static RowMapper<?> load(Class<?> clazz) {
+        Class<?> mapperClass;
+        try {
+            mapperClass = Class.forName(mapperName(clazz), true, clazz.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!RowMapper.class.isAssignableFrom(mapperClass)) {
+            return null;
+        }
+        try {
+            return (RowMapper<?>) mapperClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to instantiate generated mapper " + mapperClass.getName(), e);
+        }
+    }
+}
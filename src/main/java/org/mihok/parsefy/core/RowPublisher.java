@@ -0,0 +1,255 @@
+package org.mihok.parsefy.core;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-use publisher of parsed rows. Records are read only while the rows subscriber has outstanding
+// demand, and cancelling closes the input. Row errors go to the errors() publisher, which has to be
+// subscribed before the rows are - otherwise they are dropped. While the errors subscriber lags more
+// than MAX_PENDING_ERRORS behind, parsing pauses as well.
+// All signals come from one drain loop guarded by a work-in-progress counter, so they are serialized
+// whichever thread calls request() or cancel().
+public final class RowPublisher<T> implements Flow.Publisher<T> {
+    private static final int MAX_PENDING_ERRORS = 1024;
+
+    private final RowCursor.Factory<T> source;
+    private final Executor executor;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong rowsRequested = new AtomicLong();
+    private final AtomicLong errorsRequested = new AtomicLong();
+    private final ErrorPublisher errorPublisher = new ErrorPublisher();
+
+    private volatile Flow.Subscriber<? super T> rowSubscriber;
+    private volatile Flow.Subscriber<? super RowError> errorSubscriber;
+    // Set once onSubscribe has returned, nothing else is signalled before that
+    private volatile boolean rowsReady;
+    private volatile boolean errorsReady;
+    private volatile boolean cancelled;
+    private volatile boolean errorsCancelled;
+    private volatile Throwable invalidRequest;
+    private volatile Throwable invalidErrorsRequest;
+
+    // Only touched inside the drain loop
+    private RowCursor<T> cursor;
+    private final ArrayDeque<RowError> pendingErrors = new ArrayDeque<>();
+    private boolean errorsEnabled;
+    private long rowsEmitted;
+    private long errorsEmitted;
+    private boolean rowsDone;
+    private boolean errorsDone;
+
+    RowPublisher(RowCursor.Factory<T> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        synchronized (this) {
+            if (rowSubscriber != null) {
+                reject(subscriber);
+                return;
+            }
+            rowSubscriber = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    invalidRequest = new IllegalArgumentException("Rule 3.9: request must be positive, got " + n);
+                } else {
+                    add(rowsRequested, n);
+                }
+                schedule();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                schedule();
+            }
+        });
+        rowsReady = true;
+        schedule();
+    }
+
+    public Flow.Publisher<RowError> errors() {
+        return errorPublisher;
+    }
+
+    private static void reject(Flow.Subscriber<?> subscriber) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("A RowPublisher can only be subscribed once"));
+    }
+
+    private static void add(AtomicLong requested, long n) {
+        requested.accumulateAndGet(n, (current, more) -> current + more < 0 ? Long.MAX_VALUE : current + more);
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            drain();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain() {
+        if (rowsDone && errorsDone) {
+            return;
+        }
+        if (!rowsReady) {
+            // Rows drive the parse, nothing happens until they are subscribed
+            return;
+        }
+        if (invalidRequest != null || cancelled) {
+            closeCursor();
+            if (invalidRequest != null && !rowsDone) {
+                rowSubscriber.onError(invalidRequest);
+            }
+            rowsDone = true;
+            completeErrors();
+            return;
+        }
+        if (cursor == null && !rowsDone) {
+            errorsEnabled = errorsReady;
+            try {
+                cursor = source.open(error -> {
+                    if (errorsEnabled && !errorsCancelled) {
+                        pendingErrors.add(error);
+                    }
+                });
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+        }
+        while (!rowsDone && rowsEmitted < rowsRequested.get() && !cancelled && invalidRequest == null) {
+            emitErrors();
+            if (pendingErrors.size() >= MAX_PENDING_ERRORS) {
+                return;
+            }
+            // One record per step, so the pending errors never grow past the cap
+            boolean ready;
+            try {
+                ready = cursor.poll();
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            if (ready) {
+                rowsEmitted++;
+                rowSubscriber.onNext(cursor.next());
+            } else if (cursor.isDone()) {
+                closeCursor();
+                rowsDone = true;
+                rowSubscriber.onComplete();
+                break;
+            }
+        }
+        emitErrors();
+        if (rowsDone && pendingErrors.isEmpty()) {
+            completeErrors();
+        }
+    }
+
+    private void emitErrors() {
+        if (invalidErrorsRequest != null && !errorsDone) {
+            errorsDone = true;
+            errorsCancelled = true;
+            errorSubscriber.onError(invalidErrorsRequest);
+        }
+        if (errorsCancelled) {
+            pendingErrors.clear();
+            return;
+        }
+        while (!pendingErrors.isEmpty() && errorsEmitted < errorsRequested.get()) {
+            errorsEmitted++;
+            errorSubscriber.onNext(pendingErrors.poll());
+        }
+    }
+
+    private void fail(Exception e) {
+        closeCursor();
+        rowsDone = true;
+        rowSubscriber.onError(e);
+        if (!errorsDone) {
+            errorsDone = true;
+            if (errorsReady && !errorsCancelled) {
+                errorSubscriber.onError(e);
+            }
+        }
+    }
+
+    private void completeErrors() {
+        if (errorsDone) {
+            return;
+        }
+        errorsDone = true;
+        pendingErrors.clear();
+        if (errorsReady && !errorsCancelled) {
+            errorSubscriber.onComplete();
+        }
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            RowCursor<T> open = cursor;
+            cursor = null;
+            try {
+                open.close();
+            } catch (RuntimeException ignored) {
+                // Cancel and terminal signals must not fail because the input could not be closed
+            }
+        }
+    }
+
+    private final class ErrorPublisher implements Flow.Publisher<RowError> {
+        @Override
+        public void subscribe(Flow.Subscriber<? super RowError> subscriber) {
+            synchronized (RowPublisher.this) {
+                if (errorSubscriber != null) {
+                    reject(subscriber);
+                    return;
+                }
+                errorSubscriber = subscriber;
+            }
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n <= 0) {
+                        invalidErrorsRequest = new IllegalArgumentException("Rule 3.9: request must be positive, got " + n);
+                    } else {
+                        add(errorsRequested, n);
+                    }
+                    schedule();
+                }
+
+                @Override
+                public void cancel() {
+                    errorsCancelled = true;
+                    schedule();
+                }
+            });
+            errorsReady = true;
+            schedule();
+        }
+    }
+}
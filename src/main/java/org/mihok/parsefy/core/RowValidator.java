@@ -0,0 +1,113 @@
+package org.mihok.parsefy.core;
+
+import org.mihok.parsefy.core.validator.FieldValidator;
+import org.mihok.parsefy.core.validator.NumberValidator;
+import org.mihok.parsefy.validation.ValidationResult;
+
+import java.util.List;
+
+// Field validators of a schema, resolved once per parse. Numeric validators on primitive fields get the
+// unboxed value, other fields are read once per row, and errors are written into the caller's reusable
+// accumulator - with the shared success result, a valid row allocates nothing here.
+final class RowValidator {
+    private final FieldAccessor[] accessors;
+    private final FieldValidator<?>[][] validators;
+    private final boolean[] required;
+
+    RowValidator(SchemaDefinition<?> schema) {
+        List<FieldDefinition> fields = schema.getFields();
+        this.accessors = new FieldAccessor[fields.size()];
+        this.validators = new FieldValidator<?>[fields.size()][];
+        this.required = new boolean[fields.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            FieldDefinition field = fields.get(i);
+            accessors[i] = field.getAccessor();
+            validators[i] = field.getValidators().toArray(new FieldValidator<?>[0]);
+            required[i] = field.isRequired();
+        }
+    }
+
+    int size() {
+        return accessors.length;
+    }
+
+    void validate(Object instance, HeaderBinding binding, ValidationResult errors, ParseMetrics metrics) {
+        for (int i = 0; i < accessors.length; i++) {
+            validateField(i, instance, binding, errors, false, metrics);
+        }
+    }
+
+    // Validation errors of optional fields whose column is not in the CSV are ignored.
+    // With stopAtFirst the remaining validators of the field are skipped after the first error.
+    // Each validator is timed into metrics unless it is null
+    @SuppressWarnings("unchecked")
+    void validateField(int i, Object instance, HeaderBinding binding, ValidationResult errors, boolean stopAtFirst,
+                       ParseMetrics metrics) {
+        FieldValidator<?>[] fieldValidators = validators[i];
+        if (fieldValidators.length == 0) {
+            return;
+        }
+        boolean report = required[i] || binding.isPresent(i);
+        FieldAccessor accessor = accessors[i];
+        Object value = null;
+        boolean read = false;
+        for (int v = 0; v < fieldValidators.length; v++) {
+            FieldValidator<?> validator = fieldValidators[v];
+            long start = metrics == null ? 0 : System.nanoTime();
+            ValidationResult result;
+            if (validator instanceof NumberValidator && accessor.isIntegral()) {
+                result = ((NumberValidator) validator).validateLong(accessor.getLong(instance));
+            } else if (validator instanceof NumberValidator && accessor.isFloatingPoint()) {
+                result = ((NumberValidator) validator).validateDouble(accessor.getDouble(instance));
+            } else {
+                if (!read) {
+                    value = accessor.get(instance);
+                    read = true;
+                }
+                result = ((FieldValidator<Object>) validator).validate(value);
+            }
+            if (metrics != null) {
+                metrics.validated(i, v, System.nanoTime() - start);
+            }
+            if (report && !result.isValid()) {
+                errors.merge(result);
+                if (stopAtFirst) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Same checks against row `row` of a columnar parse, where the field's values live in column
+    @SuppressWarnings("unchecked")
+    void validateColumn(int i, Column column, int row, HeaderBinding binding, ValidationResult errors, boolean stopAtFirst,
+                        ParseMetrics metrics) {
+        FieldValidator<?>[] fieldValidators = validators[i];
+        if (fieldValidators.length == 0) {
+            return;
+        }
+        boolean report = required[i] || binding.isPresent(i);
+        boolean isNull = column.isNull(row);
+        for (int v = 0; v < fieldValidators.length; v++) {
+            FieldValidator<?> validator = fieldValidators[v];
+            long start = metrics == null ? 0 : System.nanoTime();
+            ValidationResult result;
+            if (validator instanceof NumberValidator && !isNull && column.isIntegral()) {
+                result = ((NumberValidator) validator).validateLong(column.longValue(row));
+            } else if (validator instanceof NumberValidator && !isNull && column.isFloatingPoint()) {
+                result = ((NumberValidator) validator).validateDouble(column.doubleValue(row));
+            } else {
+                result = ((FieldValidator<Object>) validator).validate(column.get(row));
+            }
+            if (metrics != null) {
+                metrics.validated(i, v, System.nanoTime() - start);
+            }
+            if (report && !result.isValid()) {
+                errors.merge(result);
+                if (stopAtFirst) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,48 @@
 package org.mihok.parsefy.core;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+// Built by SchemaReader and shared by every parser of the class, so nothing outside the package can change it
 public class SchemaDefinition<T> {
     private final Class<T> clazz;
     private final List<FieldDefinition> fieldDefinitions;
+    private final List<FieldDefinition> fieldView;
+    private final MethodHandle constructor;
 
-    public SchemaDefinition(Class<T> clazz) {
+    SchemaDefinition(Class<T> clazz) {
         this.clazz = clazz;
         this.fieldDefinitions = new ArrayList<>();
+        this.fieldView = Collections.unmodifiableList(fieldDefinitions);
+        this.constructor = findConstructor(clazz);
+    }
+
+    private static MethodHandle findConstructor(Class<?> clazz) {
+        try {
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException("Class " + clazz.getName() + " needs an accessible no-arg constructor");
+        }
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw FieldAccessor.rethrow(e);
+        }
     }
 
     public Class<T> getClazz(){
@@ -17,10 +50,10 @@ public class SchemaDefinition<T> {
     }
 
     public List<FieldDefinition> getFields() {
-        return this.fieldDefinitions;
+        return this.fieldView;
     }
 
-    public void addField(FieldDefinition fieldDef) {
+    void addField(FieldDefinition fieldDef) {
         fieldDefinitions.add(fieldDef);
     }
 }
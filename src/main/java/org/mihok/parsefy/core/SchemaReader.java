@@ -1,14 +1,27 @@
 package org.mihok.parsefy.core;
 
 import org.mihok.parsefy.*;
+import org.mihok.parsefy.converter.Converters;
 import org.mihok.parsefy.core.validator.*;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 
 public class SchemaReader {
+    // ClassValue keeps the compiled schema tied to the class, so it does not pin the class loader
+    private static final ClassValue<SchemaDefinition<?>> CACHE = new ClassValue<SchemaDefinition<?>>() {
+        @Override
+        protected SchemaDefinition<?> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
 
+    @SuppressWarnings("unchecked")
     public static <T> SchemaDefinition<T> read(Class<T> clazz) {
+        return (SchemaDefinition<T>) CACHE.get(clazz);
+    }
+
+    public static <T> SchemaDefinition<T> compile(Class<T> clazz) {
         if (!clazz.isAnnotationPresent(CsvSchema.class)) {
             throw new IllegalArgumentException("Class should annotated with CsvSchema Annotation");
         }
@@ -23,6 +36,7 @@ public class SchemaReader {
                 fieldDef.setColumnName(csvColumn.name());
                 fieldDef.setRequired(csvColumn.required());
                 fieldDef.setField(field);
+                fieldDef.setConverter(Converters.forField(field));
 
                 if (field.isAnnotationPresent(NotBlank.class)){
                     NotBlank notBlank = field.getAnnotation(NotBlank.class);
@@ -43,6 +57,14 @@ public class SchemaReader {
                     fieldDef.addValidator(new EmailValidator(annotation.message()));
                 }
 
+                if (field.isAnnotationPresent(Dedupe.class)) {
+                    if (field.getType() != String.class) {
+                        throw new IllegalArgumentException("@Dedupe is only supported on String fields, '"
+                                + field.getName() + "' is " + field.getType().getSimpleName());
+                    }
+                    fieldDef.setDedupeSize(field.getAnnotation(Dedupe.class).maxSize());
+                }
+
                 if (field.isAnnotationPresent(CustomValidator.class)) {
                     CustomValidator annotation = field.getAnnotation(CustomValidator.class);
                     try {
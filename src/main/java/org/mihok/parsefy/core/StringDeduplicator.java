@@ -0,0 +1,106 @@
+package org.mihok.parsefy.core;
+
+// Bounded table of canonical Strings, looked up by the characters of a cell view so a repeated value
+// costs a hash and a compare instead of a new String. Once the table is full, values that are not in it
+// are returned as plain copies; if too few lookups hit after that, the column is evidently not
+// low-cardinality and the table is bypassed for the rest of the parse.
+// Synchronized because pipelined parses convert rows on several threads
+final class StringDeduplicator {
+    private static final int SAMPLE_SIZE = 4096;
+    private static final int MIN_HITS_PER_SAMPLE = SAMPLE_SIZE / 2;
+    private static final int MAX_SIZE = 1 << 24;
+
+    private final int maxSize;
+    private final String[] values;
+    private int size;
+    // Open addressing over indexes into values + 1, 0 marks a free slot
+    private final int[] table;
+    private int lookups;
+    private int hits;
+    private boolean bypassed;
+
+    StringDeduplicator(int maxSize) {
+        if (maxSize < 1 || maxSize > MAX_SIZE) {
+            throw new IllegalArgumentException("maxSize must be between 1 and " + MAX_SIZE + ", got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.values = new String[maxSize];
+        this.table = new int[Integer.highestOneBit(maxSize) * 4];
+    }
+
+    synchronized String dedupe(CharSequence value) {
+        if (bypassed) {
+            return value.toString();
+        }
+        int mask = table.length - 1;
+        int slot = spread(hash(value)) & mask;
+        while (table[slot] != 0) {
+            String candidate = values[table[slot] - 1];
+            if (contentEquals(candidate, value)) {
+                sample(true);
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String copy = value.toString();
+        if (size < maxSize) {
+            values[size++] = copy;
+            table[slot] = size;
+        } else {
+            sample(false);
+        }
+        return copy;
+    }
+
+    // Only lookups made while the table is full are sampled, filling it up is expected to miss
+    private void sample(boolean hit) {
+        if (size < maxSize) {
+            return;
+        }
+        lookups++;
+        if (hit) {
+            hits++;
+        }
+        if (lookups == SAMPLE_SIZE) {
+            bypassed = hits < MIN_HITS_PER_SAMPLE;
+            lookups = 0;
+            hits = 0;
+        }
+    }
+
+    synchronized boolean isBypassed() {
+        return bypassed;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Same as String.hashCode, which Strings have cached
+    private static int hash(CharSequence value) {
+        if (value instanceof String) {
+            return value.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String entry, CharSequence value) {
+        if (entry.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < entry.length(); i++) {
+            if (entry.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -11,9 +11,49 @@ public class EmailValidator implements FieldValidator<String> {
 
     @Override
     public ValidationResult validate(String value) {
-        if (value != null && !value.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+        if (value != null && !isValidEmail(value)) {
             return ValidationResult.error(message);
         }
         return ValidationResult.success();
     }
-}
\ No newline at end of file
+
+    // Hand-written equivalent of ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$ - the top-level domain
+    // after the last dot is letters only, so that dot is the one the pattern splits on
+    public static boolean isValidEmail(CharSequence value) {
+        int length = value.length();
+        int at = 0;
+        while (at < length && isLocalChar(value.charAt(at))) {
+            at++;
+        }
+        if (at == 0 || at == length || value.charAt(at) != '@') {
+            return false;
+        }
+        int lastDot = -1;
+        for (int i = at + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot <= at + 1 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetterOrDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+}
@@ -2,7 +2,7 @@ package org.mihok.parsefy.core.validator;
 
 import org.mihok.parsefy.validation.ValidationResult;
 
-public class MaxValidator implements FieldValidator<Number> {
+public class MaxValidator implements NumberValidator {
     private final long maxValue;
     private final String message;
 
@@ -13,9 +13,17 @@ public class MaxValidator implements FieldValidator<Number> {
 
     @Override
     public ValidationResult validate(Number value) {
-        if (value != null && value.longValue() > maxValue) {
-            return ValidationResult.error(message);
-        }
-        return ValidationResult.success();
+        return value == null ? ValidationResult.success() : validateLong(value.longValue());
     }
-}
\ No newline at end of file
+
+    @Override
+    public ValidationResult validateLong(long value) {
+        return value > maxValue ? ValidationResult.error(message) : ValidationResult.success();
+    }
+
+    // Truncates like Number.longValue() did for Double fields
+    @Override
+    public ValidationResult validateDouble(double value) {
+        return validateLong((long) value);
+    }
+}
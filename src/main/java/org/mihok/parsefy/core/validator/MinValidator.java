@@ -2,7 +2,7 @@ package org.mihok.parsefy.core.validator;
 
 import org.mihok.parsefy.validation.ValidationResult;
 
-public class MinValidator implements FieldValidator<Number> {
+public class MinValidator implements NumberValidator {
     private final long minValue;
     private final String message;
 
@@ -13,9 +13,17 @@ public class MinValidator implements FieldValidator<Number> {
 
     @Override
     public ValidationResult validate(Number value) {
-        if (value != null && value.longValue() < minValue) {
-            return ValidationResult.error(message);
-        }
-        return ValidationResult.success();
+        return value == null ? ValidationResult.success() : validateLong(value.longValue());
+    }
+
+    @Override
+    public ValidationResult validateLong(long value) {
+        return value < minValue ? ValidationResult.error(message) : ValidationResult.success();
+    }
+
+    // Truncates like Number.longValue() did for Double fields
+    @Override
+    public ValidationResult validateDouble(double value) {
+        return validateLong((long) value);
     }
 }
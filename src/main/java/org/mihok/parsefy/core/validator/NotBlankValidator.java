@@ -11,9 +11,19 @@ public class NotBlankValidator implements FieldValidator<String> {
 
     @Override
     public ValidationResult validate(String value) {
-        if (value == null || value.trim().isEmpty()) {
+        if (value == null || isBlank(value)) {
             return ValidationResult.error(message);
         }
         return ValidationResult.success();
     }
+
+    // Same characters String.trim() strips, without building the trimmed copy
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
 }
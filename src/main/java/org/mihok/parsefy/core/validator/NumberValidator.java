@@ -0,0 +1,10 @@
+package org.mihok.parsefy.core.validator;
+
+import org.mihok.parsefy.validation.ValidationResult;
+
+// Numeric validators also take unboxed values, so primitive fields are checked without allocating
+public interface NumberValidator extends FieldValidator<Number> {
+    ValidationResult validateLong(long value);
+
+    ValidationResult validateDouble(double value);
+}
@@ -0,0 +1,21 @@
+package org.mihok.parsefy.exception;
+
+// Thrown when a lenient parse hits more invalid rows than its ErrorBudget allows
+public class ErrorBudgetExceededException extends RuntimeException {
+    private final long rowNumber;
+    private final long errorCount;
+
+    public ErrorBudgetExceededException(String message, long rowNumber, long errorCount) {
+        super(message);
+        this.rowNumber = rowNumber;
+        this.errorCount = errorCount;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+}
@@ -0,0 +1,82 @@
+package org.mihok.parsefy.tokenizer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+class CommonsCsvTokenizer implements CsvTokenizer {
+    private final CSVParser parser;
+    private final Iterator<CSVRecord> records;
+    private final List<String> header;
+    private CSVRecord record;
+
+    CommonsCsvTokenizer(Reader reader, TokenizerOptions options) throws IOException {
+        CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
+                .setDelimiter(options.getDelimiter())
+                .setTrim(options.isTrim())
+                .setHeader()
+                .get();
+        this.parser = CSVParser.parse(reader, csvFormat);
+        this.records = parser.iterator();
+        this.header = headerOf(parser.getHeaderMap());
+    }
+
+    private static List<String> headerOf(Map<String, Integer> headerMap) {
+        if (headerMap == null || headerMap.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] names = new String[Collections.max(headerMap.values()) + 1];
+        for (Map.Entry<String, Integer> entry : headerMap.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    @Override
+    public List<String> header() {
+        return header;
+    }
+
+    @Override
+    public boolean next() {
+        if (!records.hasNext()) {
+            record = null;
+            return false;
+        }
+        record = records.next();
+        return true;
+    }
+
+    @Override
+    public long recordNumber() {
+        return record.getRecordNumber();
+    }
+
+    @Override
+    public int size() {
+        return record.size();
+    }
+
+    @Override
+    public CharSequence cell(int index) {
+        return record.get(index);
+    }
+
+    @Override
+    public String getString(int index) {
+        return record.get(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
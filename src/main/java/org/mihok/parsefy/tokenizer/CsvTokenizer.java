@@ -0,0 +1,21 @@
+package org.mihok.parsefy.tokenizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// Pull-based record source. Cells are exposed by index; cell(i) may be a view into a reused buffer
+// that is only valid until the next call to next(), getString(i) always returns a detached String.
+public interface CsvTokenizer extends Closeable {
+    List<String> header();
+
+    boolean next() throws IOException;
+
+    long recordNumber();
+
+    int size();
+
+    CharSequence cell(int index);
+
+    String getString(int index);
+}
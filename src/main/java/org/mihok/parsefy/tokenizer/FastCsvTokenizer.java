@@ -0,0 +1,354 @@
+package org.mihok.parsefy.tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+// Scans records straight out of a large char buffer. Cells are (start, end) offsets into that buffer;
+// escaped quotes are collapsed in place, so a record is never copied unless a String is asked for.
+// Follows CSVFormat.DEFAULT: RFC 4180 quoting, CR/LF/CRLF line ends, empty lines skipped.
+// With a column projection, cells outside it are still scanned for quotes and delimiters but never
+// unescaped or trimmed, and nothing at all is recorded for the cells after the last projected one.
+class FastCsvTokenizer implements CsvTokenizer {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char QUOTE = '"';
+    private static final int NEED_MORE = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final boolean trim;
+    private final List<String> header;
+    // Null when every column is read. Set once the header has been read in full
+    private boolean[] projected;
+    private int recordedCells = Integer.MAX_VALUE;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private CellView[] views = new CellView[16];
+    private int size;
+    private long recordNumber;
+
+    FastCsvTokenizer(Reader reader, TokenizerOptions options) throws IOException {
+        this(reader, options, DEFAULT_BUFFER_SIZE);
+    }
+
+    FastCsvTokenizer(Reader reader, TokenizerOptions options, int bufferSize) throws IOException {
+        if (options.getDelimiter().length() != 1) {
+            throw new IllegalArgumentException("FAST tokenizer supports single-character delimiters only");
+        }
+        this.reader = reader;
+        this.delimiter = options.getDelimiter().charAt(0);
+        this.trim = options.isTrim();
+        this.buffer = new char[Math.max(bufferSize, 16)];
+        this.header = readHeader();
+        this.projected = projection(header, options.getColumns());
+        this.recordedCells = projected == null ? Integer.MAX_VALUE : projected.length;
+    }
+
+    // Trimmed to the last projected column
+    private static boolean[] projection(List<String> header, Set<String> columns) {
+        if (columns == null) {
+            return null;
+        }
+        int last = -1;
+        for (int i = 0; i < header.size(); i++) {
+            if (columns.contains(header.get(i))) {
+                last = i;
+            }
+        }
+        boolean[] projected = new boolean[last + 1];
+        for (int i = 0; i <= last; i++) {
+            projected[i] = columns.contains(header.get(i));
+        }
+        return projected;
+    }
+
+    private List<String> readHeader() throws IOException {
+        if (!readRecord()) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = getString(i);
+            if (name.trim().isEmpty()) {
+                throw new IllegalArgumentException("A header name is missing in " + names);
+            }
+            names.add(name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    @Override
+    public List<String> header() {
+        return header;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (!readRecord()) {
+            size = 0;
+            return false;
+        }
+        recordNumber++;
+        return true;
+    }
+
+    private boolean readRecord() throws IOException {
+        while (true) {
+            if (!skipEmptyLines()) {
+                return false;
+            }
+            int end = scanRecord(position);
+            if (end != NEED_MORE) {
+                position = end;
+                finishCells();
+                return true;
+            }
+            if (!fill()) {
+                throw new IOException("EOF reached before encapsulated token finished");
+            }
+        }
+    }
+
+    // Returns false at end of input
+    private boolean skipEmptyLines() throws IOException {
+        while (true) {
+            if (position >= limit && !fill()) {
+                return false;
+            }
+            char c = buffer[position];
+            if (c == '\n') {
+                position++;
+            } else if (c == '\r') {
+                if (position + 1 >= limit && !eof) {
+                    fill();
+                    continue;
+                }
+                position++;
+                if (position < limit && buffer[position] == '\n') {
+                    position++;
+                }
+            } else {
+                return true;
+            }
+        }
+    }
+
+    // Finds cell bounds for the record starting at p without modifying the buffer,
+    // so it can simply be re-run from the record start after more input was read
+    private int scanRecord(int p) throws IOException {
+        size = 0;
+        char[] buf = buffer;
+        while (true) {
+            if (p < limit && buf[p] == QUOTE) {
+                int contentStart = ++p;
+                boolean hasEscapes = false;
+                while (true) {
+                    if (p >= limit) {
+                        return NEED_MORE;
+                    }
+                    if (buf[p] == QUOTE) {
+                        if (p + 1 >= limit && !eof) {
+                            return NEED_MORE;
+                        }
+                        if (p + 1 < limit && buf[p + 1] == QUOTE) {
+                            hasEscapes = true;
+                            p += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    p++;
+                }
+                addCell(contentStart, p, hasEscapes);
+                p++;
+                while (p < limit && buf[p] != delimiter && buf[p] != '\n' && buf[p] != '\r') {
+                    if (!Character.isWhitespace(buf[p])) {
+                        throw new IOException("Invalid character between encapsulated token and delimiter in record " + (recordNumber + 1));
+                    }
+                    p++;
+                }
+            } else {
+                int cellStart = p;
+                while (p < limit && buf[p] != delimiter && buf[p] != '\n' && buf[p] != '\r') {
+                    p++;
+                }
+                addCell(cellStart, p, false);
+            }
+            if (p >= limit) {
+                return eof ? p : NEED_MORE;
+            }
+            char c = buf[p];
+            if (c == delimiter) {
+                p++;
+                continue;
+            }
+            if (c == '\r') {
+                if (p + 1 >= limit && !eof) {
+                    return NEED_MORE;
+                }
+                return p + 1 < limit && buf[p + 1] == '\n' ? p + 2 : p + 1;
+            }
+            return p + 1;
+        }
+    }
+
+    private void addCell(int start, int end, boolean hasEscapes) {
+        if (size >= recordedCells) {
+            // Only counted, so size() stays the real number of cells
+            size++;
+            return;
+        }
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            escaped = Arrays.copyOf(escaped, capacity);
+            views = Arrays.copyOf(views, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        escaped[size] = hasEscapes;
+        size++;
+    }
+
+    private void finishCells() {
+        int recorded = Math.min(size, recordedCells);
+        for (int i = 0; i < recorded; i++) {
+            if (projected != null && !projected[i]) {
+                continue;
+            }
+            int start = starts[i];
+            int end = ends[i];
+            if (escaped[i]) {
+                int write = start;
+                for (int read = start; read < end; read++) {
+                    buffer[write++] = buffer[read];
+                    if (buffer[read] == QUOTE) {
+                        read++;
+                    }
+                }
+                end = write;
+            }
+            if (trim) {
+                while (start < end && buffer[start] <= ' ') {
+                    start++;
+                }
+                while (end > start && buffer[end - 1] <= ' ') {
+                    end--;
+                }
+            }
+            starts[i] = start;
+            ends[i] = end;
+        }
+    }
+
+    // Moves the unread tail to the front (growing the buffer when one record fills it) and reads more
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        position = 0;
+        limit = remaining;
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        while (read == 0) {
+            read = reader.read(buffer, limit, buffer.length - limit);
+        }
+        if (read < 0) {
+            eof = true;
+            return limit > 0;
+        }
+        limit += read;
+        return true;
+    }
+
+    @Override
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public CharSequence cell(int index) {
+        checkIndex(index);
+        CellView view = views[index];
+        if (view == null) {
+            view = new CellView();
+            views[index] = view;
+        }
+        view.reset(buffer, starts[index], ends[index]);
+        return view;
+    }
+
+    @Override
+    public String getString(int index) {
+        checkIndex(index);
+        return new String(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index >= size) {
+            throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for record with " + size + " values");
+        }
+        if (projected != null && (index >= projected.length || !projected[index])) {
+            throw new IllegalStateException("Column " + index + " is not in the column projection");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static final class CellView implements CharSequence {
+        private char[] chars;
+        private int start;
+        private int end;
+
+        void reset(char[] chars, int start, int end) {
+            this.chars = chars;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(chars, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.mihok.parsefy.tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Opens a tokenizer over the input and reads the header record
+@FunctionalInterface
+public interface TokenizerFactory {
+    CsvTokenizer open(Reader reader, TokenizerOptions options) throws IOException;
+}
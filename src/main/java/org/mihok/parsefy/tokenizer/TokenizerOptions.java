@@ -0,0 +1,35 @@
+package org.mihok.parsefy.tokenizer;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class TokenizerOptions {
+    private final String delimiter;
+    private final boolean trim;
+    private final Set<String> columns;
+
+    public TokenizerOptions(String delimiter, boolean trim) {
+        this(delimiter, trim, null);
+    }
+
+    // columns is a projection hint: the header names that will be read, null for all of them.
+    // Tokenizers may skip the other cells, and then refuse to return them
+    public TokenizerOptions(String delimiter, boolean trim, Set<String> columns) {
+        this.delimiter = delimiter;
+        this.trim = trim;
+        this.columns = columns == null ? null : Collections.unmodifiableSet(new LinkedHashSet<>(columns));
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public boolean isTrim() {
+        return trim;
+    }
+
+    public Set<String> getColumns() {
+        return columns;
+    }
+}
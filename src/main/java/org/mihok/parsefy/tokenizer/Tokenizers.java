@@ -0,0 +1,21 @@
+package org.mihok.parsefy.tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public enum Tokenizers implements TokenizerFactory {
+    // Apache commons-csv, kept as the compatibility backend
+    COMMONS_CSV {
+        @Override
+        public CsvTokenizer open(Reader reader, TokenizerOptions options) throws IOException {
+            return new CommonsCsvTokenizer(reader, options);
+        }
+    },
+    // Built-in RFC 4180 scanner over a reusable char buffer, single-character delimiters only
+    FAST {
+        @Override
+        public CsvTokenizer open(Reader reader, TokenizerOptions options) throws IOException {
+            return new FastCsvTokenizer(reader, options);
+        }
+    }
+}
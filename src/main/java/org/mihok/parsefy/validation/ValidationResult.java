@@ -5,10 +5,22 @@ import java.util.Collections;
 import java.util.List;
 
 public class ValidationResult {
-    private final List<String> errors = new ArrayList<>();
+    // Shared by every passing check, so the common case allocates nothing
+    private static final ValidationResult SUCCESS = new ValidationResult(true);
+
+    private final boolean immutable;
+    private List<String> errors;
+
+    public ValidationResult() {
+        this(false);
+    }
+
+    private ValidationResult(boolean immutable) {
+        this.immutable = immutable;
+    }
 
     public static ValidationResult success() {
-        return new ValidationResult();
+        return SUCCESS;
     }
 
     public static ValidationResult error(String message) {
@@ -18,18 +30,36 @@ public class ValidationResult {
     }
 
     public void addError(String error) {
+        if (immutable) {
+            throw new UnsupportedOperationException("ValidationResult.success() is shared and cannot take errors");
+        }
+        if (errors == null) {
+            errors = new ArrayList<>(2);
+        }
         errors.add(error);
     }
 
     public void merge(ValidationResult other) {
-        this.errors.addAll(other.errors);
+        if (other.errors == null || other.errors.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < other.errors.size(); i++) {
+            addError(other.errors.get(i));
+        }
+    }
+
+    // Lets one instance collect the errors of many rows in turn
+    public void clear() {
+        if (errors != null) {
+            errors.clear();
+        }
     }
 
     public boolean isValid() {
-        return errors.isEmpty();
+        return errors == null || errors.isEmpty();
     }
 
     public List<String> getErrors() {
-        return Collections.unmodifiableList(errors);
+        return errors == null ? Collections.emptyList() : Collections.unmodifiableList(errors);
     }
 }
@@ -0,0 +1,99 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.BatchSink;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.RowError;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchTest {
+
+    @CsvSchema
+    public static class Person {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Max(value = 30)
+        @CsvColumn(name = "age")
+        private Integer age;
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    @Test
+    void shouldDeliverFixedSizeBatchesAndFlushTheRest() throws Exception {
+        String csv = "name,age\na,1\nb,2\nc,40\nd,3\ne,4\nf,50\ng,5\nh,60";
+        List<List<String>> rowBatches = new ArrayList<>();
+        List<List<Long>> errorBatches = new ArrayList<>();
+        List<List<Person>> seen = new ArrayList<>();
+
+        Parsefy.builder(Person.class).strictMode(false).parseInBatches(new StringReader(csv), 2, new BatchSink<Person>() {
+            @Override
+            public void rows(List<Person> batch) {
+                seen.add(batch);
+                rowBatches.add(batch.stream().map(Person::getName).collect(Collectors.toList()));
+            }
+
+            @Override
+            public void errors(List<RowError> batch) {
+                errorBatches.add(batch.stream().map(RowError::getRowNumber).collect(Collectors.toList()));
+            }
+        });
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("d", "e"), Arrays.asList("g")), rowBatches);
+        assertEquals(Arrays.asList(Arrays.asList(3L, 6L), Arrays.asList(8L)), errorBatches);
+        assertSame(seen.get(0), seen.get(1), "batch buffer should be reused");
+    }
+
+    @Test
+    void shouldNotHoldMoreThanOneBatchOfErrors() throws Exception {
+        StringBuilder csv = new StringBuilder("name,age\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append("n").append(i).append(',').append(i % 1000 == 0 ? 1 : 99).append('\n');
+        }
+        AtomicLong records = new AtomicLong();
+        List<Long> recordsAtFlush = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        Parsefy.builder(Person.class).strictMode(false).filter("name", name -> records.incrementAndGet() > 0)
+                .parseInBatches(new StringReader(csv.toString()), 100, new BatchSink<Person>() {
+                    @Override
+                    public void rows(List<Person> batch) {
+                    }
+
+                    @Override
+                    public void errors(List<RowError> batch) {
+                        recordsAtFlush.add(records.get());
+                        batchSizes.add(batch.size());
+                    }
+                });
+
+        assertEquals(999, batchSizes.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+        // Each batch is handed over as soon as it is full, before the next record is read
+        assertTrue(recordsAtFlush.get(0) <= 101, "records read before first flush: " + recordsAtFlush.get(0));
+    }
+
+    @Test
+    void shouldPropagateSinkFailure() {
+        String csv = "name,age\na,1\nb,2\nc,3";
+
+        Exception error = assertThrows(IllegalStateException.class, () -> Parsefy.builder(Person.class)
+                .parseInBatches(new StringReader(csv), 2, batch -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        assertEquals("database down", error.getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.converter.CharParsers;
+import org.mihok.parsefy.converter.LocalDateConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CharParsersTest {
+
+    @Test
+    void shouldParseIntegersLikeJdk() {
+        String[] values = {"0", "-0", "+7", "42", "-2147483648", "2147483647", "9223372036854775807", "-9223372036854775808"};
+        for (String value : values) {
+            assertEquals(Long.parseLong(value), CharParsers.parseLong(new StringBuilder(value)), value);
+        }
+        assertEquals(Integer.MIN_VALUE, CharParsers.parseInt(new StringBuilder("-2147483648")));
+        for (String invalid : new String[]{"", "-", "+", "2147483648", "1a", " 1", "1.0"}) {
+            assertThrows(NumberFormatException.class, () -> CharParsers.parseInt(new StringBuilder(invalid)), invalid);
+        }
+        assertThrows(NumberFormatException.class, () -> CharParsers.parseLong(new StringBuilder("9223372036854775808")));
+    }
+
+    @Test
+    void shouldParseDoublesExactlyLikeJdk() {
+        String[] values = {"0", "-0.0", "1.", ".5", "3.14159", "1e10", "1.5E-3", "123456789012345", "0.000001234",
+                "1234567890123456789", "1e-400", "NaN", "-Infinity", "1.7976931348623157E308", "4.9e-324", "2.5d"};
+        for (String value : values) {
+            assertEquals(Double.parseDouble(value), CharParsers.parseDouble(new StringBuilder(value)), value);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            String value = String.valueOf(random.nextInt(2_000_000) - 1_000_000) + "." + random.nextInt(100_000);
+            assertEquals(Double.parseDouble(value), CharParsers.parseDouble(new StringBuilder(value)), value);
+        }
+        assertThrows(NumberFormatException.class, () -> CharParsers.parseDouble(new StringBuilder("1.2.3")));
+    }
+
+    @Test
+    void shouldParseBigDecimalWithSameScale() {
+        for (String value : new String[]{"123.45", "-0.0", "1.50", "+7", "1.", "12345678901234567890.5", "1e3"}) {
+            BigDecimal expected = new BigDecimal(value);
+            BigDecimal actual = CharParsers.parseBigDecimal(new StringBuilder(value));
+            assertEquals(expected, actual, value);
+            assertEquals(expected.scale(), actual.scale(), value);
+        }
+    }
+
+    @Test
+    void shouldParseFixedPatternDatesLikeFormatter() {
+        String[][] cases = {
+                {"yyyy-MM-dd", "2024-01-15"}, {"yyyy-MM-dd", "2024-04-31"}, {"yyyy-MM-dd", "2023-02-29"},
+                {"yyyyMMdd", "20240115"}, {"dd/MM/yyyy", "15/01/2024"}, {"dd.MM.yyyy", "29.02.2024"},
+        };
+        for (String[] testCase : cases) {
+            LocalDate expected = LocalDate.parse(testCase[1], DateTimeFormatter.ofPattern(testCase[0]));
+            assertEquals(expected, new LocalDateConverter(testCase[0]).convert(new StringBuilder(testCase[1])));
+        }
+        assertThrows(RuntimeException.class, () -> new LocalDateConverter("yyyy-MM-dd").convert("2024-13-01"));
+        assertThrows(RuntimeException.class, () -> new LocalDateConverter("yyyy-MM-dd").convert("0000-01-01"));
+        assertThrows(RuntimeException.class, () -> new LocalDateConverter("yyyy-MM-dd").convert("2024/01/01"));
+    }
+
+    @Test
+    void shouldComputeEpochDayLikeLocalDate() {
+        LocalDateConverter converter = new LocalDateConverter("yyyy-MM-dd");
+        for (LocalDate date = LocalDate.of(1, 1, 1); date.getYear() < 10000; date = date.plusDays(997)) {
+            String value = date.toString();
+            assertEquals(date.toEpochDay(), converter.toEpochDay(new StringBuilder(value)), value);
+        }
+        assertEquals(LocalDate.of(2024, 4, 30).toEpochDay(), converter.toEpochDay("2024-04-31"));
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), new LocalDateConverter("d MMM yyyy").toEpochDay("29 Feb 2000"));
+    }
+}
@@ -0,0 +1,212 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.BatchSink;
+import org.mihok.parsefy.core.Checkpoint;
+import org.mihok.parsefy.core.CheckpointStore;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowError;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointTest {
+
+    @CsvSchema
+    public static class Entry {
+        @NotBlank
+        @CsvColumn(name = "id", required = true)
+        private String id;
+
+        @Max(value = 100)
+        @CsvColumn(name = "amount")
+        private int amount;
+
+        @CsvColumn(name = "note")
+        private String note;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getNote() {
+            return note;
+        }
+    }
+
+    private static class MemoryStore implements CheckpointStore {
+        private Checkpoint checkpoint;
+        private int saves;
+
+        @Override
+        public Checkpoint load() {
+            return checkpoint;
+        }
+
+        @Override
+        public void save(Checkpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            saves++;
+        }
+
+        @Override
+        public void clear() {
+            checkpoint = null;
+        }
+    }
+
+    private static Path write(Path dir, int rows) throws Exception {
+        return write(dir, rows, -1);
+    }
+
+    // bareQuoteRow gets an unquoted note with a quote in it, which does not start a quoted field
+    private static Path write(Path dir, int rows, int bareQuoteRow) throws Exception {
+        StringBuilder csv = new StringBuilder("id,amount,note\n");
+        for (int i = 0; i < rows; i++) {
+            // Quoted line breaks and quotes, so segment boundaries have to respect quoting
+            csv.append("id").append(i).append(',').append(i % 25 == 24 ? 500 : i % 100).append(',')
+                    .append(i == bareQuoteRow ? "5\" pipe" : i % 3 == 0 ? "\"line\nbreak, \"\"quoted\"\"\"" : "plain")
+                    .append('\n');
+        }
+        Path file = dir.resolve("entries.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Long> rowNumbers(List<RowError> errors) {
+        return errors.stream().map(RowError::getRowNumber).collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldParseInSegmentsLikeWholeFile(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 20_000);
+        MemoryStore store = new MemoryStore();
+
+        ParsefyResult<Entry> expected = Parsefy.builder(Entry.class).strictMode(false).parse(file).getResult();
+        ParsefyResult<Entry> actual = Parsefy.builder(Entry.class).strictMode(false)
+                .checkpoints(store, 16 * 1024)
+                .parse(file)
+                .getResult();
+
+        assertTrue(store.saves > 10);
+        assertNull(store.checkpoint);
+        assertEquals(expected.getValidRows().size(), actual.getValidRows().size());
+        assertEquals(rowNumbers(expected.getErrors()), rowNumbers(actual.getErrors()));
+        for (int i = 0; i < expected.getValidRows().size(); i++) {
+            assertEquals(expected.getValidRows().get(i).getId(), actual.getValidRows().get(i).getId());
+            assertEquals(expected.getValidRows().get(i).getNote(), actual.getValidRows().get(i).getNote());
+        }
+    }
+
+    @Test
+    void shouldKeepSegmentsOnRecordsAfterQuoteInsideUnquotedCell(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 20_000, 10);
+
+        ParsefyResult<Entry> expected = Parsefy.builder(Entry.class).strictMode(false).parse(file).getResult();
+        ParsefyResult<Entry> actual = Parsefy.builder(Entry.class).strictMode(false)
+                .checkpoints(new MemoryStore(), 16 * 1024)
+                .parse(file)
+                .getResult();
+
+        assertEquals("5\" pipe", expected.getValidRows().get(10).getNote());
+        assertEquals(expected.getValidRows().size(), actual.getValidRows().size());
+        assertEquals(rowNumbers(expected.getErrors()), rowNumbers(actual.getErrors()));
+        for (int i = 0; i < expected.getValidRows().size(); i++) {
+            assertEquals(expected.getValidRows().get(i).getNote(), actual.getValidRows().get(i).getNote());
+        }
+    }
+
+    @Test
+    void shouldResumeAfterLastCheckpoint(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 20_000);
+        CheckpointStore store = CheckpointStore.file(dir.resolve("entries.checkpoint"));
+        ParsefyResult<Entry> expected = Parsefy.builder(Entry.class).strictMode(false).parse(file).getResult();
+
+        List<String> imported = new ArrayList<>();
+        List<RowError> errors = new ArrayList<>();
+        Parsefy<Entry> parser = Parsefy.builder(Entry.class).strictMode(false).checkpoints(store, 64 * 1024);
+        // The import dies while the third segment is handed over
+        assertThrows(IllegalStateException.class, () -> parser.parseInBatches(file, Integer.MAX_VALUE, new BatchSink<Entry>() {
+            private int calls;
+
+            @Override
+            public void rows(List<Entry> batch) {
+                if (++calls == 3) {
+                    throw new IllegalStateException("Database went away");
+                }
+                batch.forEach(entry -> imported.add(entry.getId()));
+            }
+
+            @Override
+            public void errors(List<RowError> batch) {
+                errors.addAll(batch);
+            }
+        }));
+        Checkpoint checkpoint = store.load();
+        assertNotNull(checkpoint);
+        assertTrue(checkpoint.getRecordNumber() > 0);
+
+        ParsefyResult<Entry> resumed = parser.parse(file).getResult();
+        resumed.getValidRows().forEach(entry -> imported.add(entry.getId()));
+        errors.addAll(resumed.getErrors());
+
+        assertEquals(expected.getValidRows().stream().map(Entry::getId).collect(Collectors.toList()), imported);
+        assertEquals(rowNumbers(expected.getErrors()), rowNumbers(errors));
+        assertNull(store.load());
+    }
+
+    @Test
+    void shouldRejectCheckpointInsideRecord(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 100);
+        MemoryStore store = new MemoryStore();
+        store.checkpoint = new Checkpoint(20, 1);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> Parsefy.builder(Entry.class)
+                .strictMode(false)
+                .checkpoints(store, 1024)
+                .parse(file));
+        assertEquals("Checkpoint[byte 20, record 1] is not at a record boundary of " + file, error.getMessage());
+    }
+
+    @Test
+    void shouldRejectCompressedFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("entries.csv.gz");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write("id,amount,note\nid1,1,x\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(file, bytes.toByteArray());
+
+        assertThrows(IllegalArgumentException.class, () -> Parsefy.builder(Entry.class)
+                .checkpoints(new MemoryStore(), 1024)
+                .parse(file));
+    }
+
+    @Test
+    void shouldKeepCheckpointInFile(@TempDir Path dir) throws Exception {
+        CheckpointStore store = CheckpointStore.file(dir.resolve("import.checkpoint"));
+        assertNull(store.load());
+
+        store.save(new Checkpoint(4096, 120));
+        store.save(new Checkpoint(8192, 250));
+        assertEquals(8192, store.load().getByteOffset());
+        assertEquals(250, store.load().getRecordNumber());
+
+        store.clear();
+        assertNull(store.load());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.Column;
+import org.mihok.parsefy.core.ColumnarResult;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarTest {
+
+    @CsvSchema
+    public static class Trade {
+        @NotBlank
+        @CsvColumn(name = "symbol", required = true)
+        private String symbol;
+
+        @Min(value = 1)
+        @CsvColumn(name = "quantity")
+        private int quantity;
+
+        @CsvColumn(name = "id")
+        private Long id;
+
+        @CsvColumn(name = "price")
+        private double price;
+
+        @CsvColumn(name = "amount")
+        private BigDecimal amount;
+
+        @DateFormat("dd/MM/yyyy")
+        @CsvColumn(name = "date")
+        private LocalDate date;
+
+        @CsvColumn(name = "settled")
+        private boolean settled;
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+    }
+
+    private static final String CSV = "symbol,quantity,id,price,amount,date,settled\n"
+            + "ABC,10,1,12.5,100.10,02/01/2024,true\n"
+            + "XYZ,0,2,3.25,5,03/01/2024,false\n"
+            + "ABC,7,,99.0,1.5,04/01/2024,TRUE\n"
+            + "DEF,3,4,1.0,,,false\n"
+            + "ABC,2,5,2.5,2,05/01/2024,true\n";
+
+    @Test
+    void shouldStoreFieldsAsPrimitiveColumns() throws Exception {
+        ColumnarResult result = Parsefy.builder(Trade.class).strictMode(false).parseColumnar(CSV);
+
+        assertEquals(4, result.getRowCount());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(2, result.getErrors().get(0).getRowNumber());
+
+        assertArrayEquals(new int[]{10, 7, 3, 2}, result.getColumn("quantity", Column.IntColumn.class).values());
+        assertArrayEquals(new double[]{12.5, 99.0, 1.0, 2.5}, result.getColumn("price", Column.DoubleColumn.class).values());
+
+        Column.LongColumn id = result.getColumn("id", Column.LongColumn.class);
+        assertTrue(id.isNull(1));
+        assertNull(id.get(1));
+        assertEquals(5L, id.getLong(3));
+
+        Column.DateColumn date = result.getColumn("date", Column.DateColumn.class);
+        assertEquals(LocalDate.of(2024, 1, 2).toEpochDay(), date.getEpochDay(0));
+        assertTrue(date.isNull(2));
+        assertEquals(LocalDate.of(2024, 1, 5), date.get(3));
+
+        Column.BooleanColumn settled = result.getColumn("settled", Column.BooleanColumn.class);
+        assertTrue(settled.getBoolean(1));
+        assertFalse(settled.getBoolean(2));
+
+        assertEquals(new BigDecimal("100.10"), result.getColumn("amount").get(0));
+        assertNull(result.getColumn("amount").get(2));
+    }
+
+    @Test
+    void shouldDictionaryEncodeStrings() throws Exception {
+        ColumnarResult result = Parsefy.builder(Trade.class).strictMode(false).parseColumnar(CSV);
+
+        Column.StringColumn symbol = result.getColumn("symbol", Column.StringColumn.class);
+        assertTrue(symbol.isDictionaryEncoded());
+        // XYZ was only seen in the rejected row, which takes its dictionary entry with it
+        assertArrayEquals(new int[]{0, 0, 1, 0}, symbol.codes());
+        assertEquals(Arrays.asList("ABC", "DEF"), symbol.dictionary());
+        assertEquals("DEF", symbol.getString(2));
+        assertSame(symbol.getString(0), symbol.getString(3));
+        assertThrows(IllegalStateException.class, symbol::values);
+    }
+
+    @Test
+    void shouldKeepDictionaryToValidRows() throws Exception {
+        StringBuilder csv = new StringBuilder("symbol,quantity\n");
+        for (int i = 0; i < 3000; i++) {
+            // Every third row is rejected with a symbol no valid row has, the others repeat 500 symbols
+            csv.append(i % 3 == 2 ? "R" + i + ",0" : "S" + i % 500 + ",1").append('\n');
+        }
+
+        ColumnarResult result = Parsefy.builder(Trade.class).strictMode(false).parseColumnar(csv.toString());
+
+        Column.StringColumn symbol = result.getColumn("symbol", Column.StringColumn.class);
+        assertEquals(1000, result.getErrors().size());
+        assertEquals(500, symbol.dictionary().size());
+        assertEquals(500, new HashSet<>(symbol.dictionary()).size());
+        for (String value : symbol.dictionary()) {
+            assertTrue(value.startsWith("S"), value);
+        }
+        for (int row = 0; row < result.getRowCount(); row++) {
+            int line = row / 2 * 3 + row % 2;
+            assertEquals("S" + line % 500, symbol.getString(row));
+        }
+    }
+
+    @Test
+    void shouldStoreManyDistinctStringsPlain() throws Exception {
+        StringBuilder csv = new StringBuilder("symbol,quantity\n");
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("ID-").append(i).append(",1\n");
+        }
+
+        ColumnarResult result = Parsefy.builder(Trade.class).strictMode(false).parseColumnar(csv.toString());
+
+        Column.StringColumn symbol = result.getColumn("symbol", Column.StringColumn.class);
+        assertFalse(symbol.isDictionaryEncoded());
+        assertEquals(20_000, symbol.values().length);
+        assertEquals("ID-0", symbol.getString(0));
+        assertEquals("ID-19999", symbol.values()[19_999]);
+        assertThrows(IllegalStateException.class, symbol::codes);
+        assertThrows(IllegalStateException.class, symbol::dictionary);
+    }
+
+    @Test
+    void shouldMatchRowParse() throws Exception {
+        StringBuilder csv = new StringBuilder("symbol,quantity,price,date\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append("S").append(i % 37).append(',').append(i % 11).append(',').append(i * 0.25).append(',')
+                    .append(String.format("%02d/%02d/%04d", i % 28 + 1, i % 12 + 1, 1990 + i % 40)).append('\n');
+        }
+
+        ParsefyResult<Trade> rows = Parsefy.builder(Trade.class).strictMode(false).tokenizer(Tokenizers.FAST)
+                .parse(csv.toString()).getResult();
+        ColumnarResult columns = Parsefy.builder(Trade.class).strictMode(false).tokenizer(Tokenizers.FAST)
+                .parseColumnar(csv.toString());
+
+        assertEquals(rows.getValidRows().size(), columns.getRowCount());
+        assertEquals(rows.getErrors().size(), columns.getErrors().size());
+        Column.StringColumn symbol = columns.getColumn("symbol", Column.StringColumn.class);
+        Column.IntColumn quantity = columns.getColumn("quantity", Column.IntColumn.class);
+        Column.DoubleColumn price = columns.getColumn("price", Column.DoubleColumn.class);
+        Column.DateColumn date = columns.getColumn("date", Column.DateColumn.class);
+        assertEquals(37, symbol.dictionary().size());
+        for (int i = 0; i < columns.getRowCount(); i++) {
+            Trade trade = rows.getValidRows().get(i);
+            assertEquals(trade.getSymbol(), symbol.getString(i));
+            assertEquals(trade.getQuantity(), quantity.getInt(i));
+            assertEquals(trade.getPrice(), price.getDouble(i));
+            assertEquals(trade.getDate().toEpochDay(), date.getEpochDay(i));
+        }
+    }
+
+    @Test
+    void shouldFailLikeRowParse() {
+        RuntimeException rows = assertThrows(RuntimeException.class, () -> Parsefy.builder(Trade.class).parse(CSV));
+        RuntimeException strict = assertThrows(RuntimeException.class,
+                () -> Parsefy.builder(Trade.class).parseColumnar(CSV));
+        assertEquals(rows.getMessage(), strict.getMessage());
+
+        RuntimeException conversion = assertThrows(RuntimeException.class,
+                () -> Parsefy.builder(Trade.class).strictMode(false).parseColumnar("symbol,quantity\nABC,ten"));
+        assertEquals("Failed to convert value 'ten' to type int", conversion.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> Parsefy.builder(Trade.class).parseColumnar("symbol\nA")
+                .getColumn("symbol", Column.IntColumn.class));
+    }
+
+    @Test
+    void shouldFailOnEmptyPrimitiveCellLikeRowParse() throws Exception {
+        String csv = "symbol,quantity,id\nABC,3,\nDEF,,4\n";
+
+        IllegalArgumentException rows = assertThrows(IllegalArgumentException.class,
+                () -> Parsefy.builder(Trade.class).strictMode(false).parse(csv));
+        IllegalArgumentException columns = assertThrows(IllegalArgumentException.class,
+                () -> Parsefy.builder(Trade.class).strictMode(false).parseColumnar(csv));
+        assertEquals("Cannot assign null to primitive field 'quantity'", columns.getMessage());
+        assertEquals(rows.getMessage(), columns.getMessage());
+
+        // An empty boxed cell and a missing primitive column are still null
+        ColumnarResult result = Parsefy.builder(Trade.class).strictMode(false).parseColumnar("symbol,id\nABC,\n");
+        assertTrue(result.getColumn("id").isNull(0));
+        assertTrue(result.getColumn("quantity").isNull(0));
+    }
+}
@@ -0,0 +1,132 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.CompiledParser;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowError;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledParserTest {
+
+    @CsvSchema
+    public static class Upload {
+        @NotBlank
+        @CsvColumn(name = "user", required = true)
+        private String user;
+
+        @Max(value = 1000)
+        @CsvColumn(name = "size")
+        private int size;
+
+        public String getUser() {
+            return user;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    public static class NotASchema {
+    }
+
+    private static String upload(int id, int rows) {
+        StringBuilder csv = new StringBuilder("user,size\n");
+        for (int i = 0; i < rows; i++) {
+            // Every tenth row is too large
+            csv.append("user").append(id).append(',').append(i % 10 == 9 ? 5000 : i).append('\n');
+        }
+        return csv.toString();
+    }
+
+    @Test
+    void shouldServeConcurrentParses() throws Exception {
+        CompiledParser<Upload> parser = Parsefy.builder(Upload.class)
+                .strictMode(false)
+                .tokenizer(Tokenizers.FAST)
+                .compile();
+        int uploads = 64;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ParsefyResult<Upload>>> results = new ArrayList<>();
+            for (int id = 0; id < uploads; id++) {
+                String csv = upload(id, 100 + id * 10);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return parser.parse(csv);
+                }));
+            }
+            start.countDown();
+            for (int id = 0; id < uploads; id++) {
+                ParsefyResult<Upload> result = results.get(id).get();
+                int rows = 100 + id * 10;
+                assertEquals(rows - rows / 10, result.getValidRows().size());
+                assertEquals(rows / 10, result.getErrors().size());
+                String user = "user" + id;
+                assertTrue(result.getValidRows().stream().allMatch(upload -> user.equals(upload.getUser())));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReturnNewResultPerParse() throws Exception {
+        CompiledParser<Upload> parser = Parsefy.builder(Upload.class).strictMode(false).compile();
+
+        ParsefyResult<Upload> first = parser.parse(upload(1, 10));
+        ParsefyResult<Upload> second = parser.parse(upload(2, 20));
+
+        assertNotSame(first, second);
+        assertEquals(9, first.getValidRows().size());
+        assertEquals(18, second.getValidRows().size());
+    }
+
+    @Test
+    void shouldIgnoreBuilderChangesAfterCompile() throws Exception {
+        Parsefy<Upload> builder = Parsefy.builder(Upload.class).strictMode(false);
+        CompiledParser<Upload> parser = builder.compile();
+        builder.strictMode(true).filter("user", user -> false);
+
+        ParsefyResult<Upload> result = parser.parse(upload(1, 10));
+
+        assertEquals(9, result.getValidRows().size());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(0, result.getFilteredRows());
+    }
+
+    @Test
+    void shouldReadInputStreams() throws Exception {
+        CompiledParser<Upload> parser = Parsefy.builder(Upload.class).strictMode(false).compile();
+        byte[] csv = upload(1, 50).getBytes(StandardCharsets.UTF_8);
+
+        List<RowError> errors = new ArrayList<>();
+        try (Stream<Upload> rows = parser.stream(new ByteArrayInputStream(csv), errors::add)) {
+            assertEquals(45, rows.count());
+        }
+        assertEquals(5, errors.size());
+        assertEquals(45, parser.parseColumnar(new ByteArrayInputStream(csv)).getRowCount());
+        List<Upload> batched = new ArrayList<>();
+        parser.parseInBatches(new ByteArrayInputStream(csv), 10, batched::addAll);
+        assertEquals(45, batched.size());
+    }
+
+    @Test
+    void shouldRejectInvalidSchemaOnCompile() {
+        assertThrows(IllegalArgumentException.class, () -> Parsefy.builder(NotASchema.class).compile());
+    }
+}
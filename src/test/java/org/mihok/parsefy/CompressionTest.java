@@ -0,0 +1,209 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionTest {
+
+    @CsvSchema
+    public static class Reading {
+        @NotBlank
+        @CsvColumn(name = "sensor", required = true)
+        private String sensor;
+
+        @Max(value = 100)
+        @CsvColumn(name = "value")
+        private int value;
+
+        public String getSensor() {
+            return sensor;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    @CsvSchema
+    public static class Word {
+        @CsvColumn(name = "x\u00dar")
+        private String word;
+
+        public String getWord() {
+            return word;
+        }
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("sensor,value\n");
+        for (int i = 0; i < rows; i++) {
+            // Every hundredth reading is out of range
+            csv.append("sensor-").append(i).append(',').append(i % 100 == 99 ? 500 : i % 100).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // Members of at most 64 KB with the 'BC' subfield, followed by the empty end-of-file member, like bgzip
+    private static byte[] bgzf(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int blockSize = 60_000;
+        for (int start = 0; start < bytes.length; start += blockSize) {
+            writeBgzfMember(out, bytes, start, Math.min(blockSize, bytes.length - start));
+        }
+        writeBgzfMember(out, bytes, 0, 0);
+        return out.toByteArray();
+    }
+
+    private static void writeBgzfMember(ByteArrayOutputStream out, byte[] bytes, int start, int length) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(bytes, start, length);
+        deflater.finish();
+        byte[] compressed = new byte[length + 1024];
+        int compressedLength = deflater.deflate(compressed);
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, start, length);
+        int size = 18 + compressedLength + 8;
+        out.write(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+                (byte) (size - 1), (byte) ((size - 1) >> 8)}, 0, 18);
+        out.write(compressed, 0, compressedLength);
+        writeInt(out, crc.getValue());
+        writeInt(out, length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (value >> (8 * i)));
+        }
+    }
+
+    private static void assertParsed(ParsefyResult<Reading> result, int rows) {
+        assertEquals(rows - rows / 100, result.getValidRows().size());
+        assertEquals(rows / 100, result.getErrors().size());
+        assertEquals("sensor-" + (rows - 2), result.getValidRows().get(result.getValidRows().size() - 1).getSensor());
+    }
+
+    @Test
+    void shouldDetectGzipFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("readings.csv.gz");
+        Files.write(file, gzip(csv(50_000).getBytes(StandardCharsets.UTF_8)));
+
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false).parse(file).getResult(), 50_000);
+        // Chunked and mapped reading need the plain text and fall back to the stream
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false).parallelism(4).memoryMapped(true)
+                .parse(file.toFile()).getResult(), 50_000);
+        try (Stream<Reading> rows = Parsefy.builder(Reading.class).strictMode(false).stream(file, error -> {
+        })) {
+            assertEquals(49_500, rows.count());
+        }
+    }
+
+    @Test
+    void shouldDetectCompressedStreams() throws Exception {
+        byte[] plain = csv(10_000).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(zlib)) {
+            deflater.write(plain);
+        }
+
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false)
+                .parse(new ByteArrayInputStream(gzip(plain))).getResult(), 10_000);
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false)
+                .parse(new ByteArrayInputStream(zlib.toByteArray())).getResult(), 10_000);
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false).compile()
+                .parse(new ByteArrayInputStream(gzip(plain))), 10_000);
+    }
+
+    @Test
+    void shouldReadTextThatStartsLikeAZlibHeader(@TempDir Path dir) throws Exception {
+        // "x\u00da" is a zlib header with a valid check, the text after it does not inflate
+        StringBuilder csv = new StringBuilder("x\u00dar\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("caf\u00e9 ").append(i).append('\n');
+        }
+        byte[] text = csv.toString().getBytes(StandardCharsets.ISO_8859_1);
+        byte[] shortText = "x\u00dar\nol\u00e9\n".getBytes(StandardCharsets.ISO_8859_1);
+        Path file = dir.resolve("words.csv");
+        Files.write(file, text);
+
+        Parsefy<Word> parser = Parsefy.builder(Word.class).defaultCharset(StandardCharsets.ISO_8859_1);
+        assertEquals(1000, parser.parse(new ByteArrayInputStream(text)).getResult().getValidRows().size());
+        assertEquals("ol\u00e9", Parsefy.builder(Word.class).defaultCharset(StandardCharsets.ISO_8859_1)
+                .parse(new ByteArrayInputStream(shortText)).getResult().getValidRows().get(0).getWord());
+        assertEquals("caf\u00e9 999", Parsefy.builder(Word.class).defaultCharset(StandardCharsets.ISO_8859_1)
+                .parallelism(2).parse(file).getResult().getValidRows().get(999).getWord());
+        assertEquals(1000, Parsefy.builder(Word.class).defaultCharset(StandardCharsets.ISO_8859_1).memoryMapped(true)
+                .parse(file.toFile()).getResult().getValidRows().size());
+    }
+
+    @Test
+    void shouldReadConcatenatedMembers() throws Exception {
+        String csv = csv(20_000);
+        int split = csv.indexOf('\n', csv.length() / 2) + 1;
+        ByteArrayOutputStream members = new ByteArrayOutputStream();
+        members.write(gzip(csv.substring(0, split).getBytes(StandardCharsets.UTF_8)));
+        members.write(gzip(csv.substring(split).getBytes(StandardCharsets.UTF_8)));
+
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false)
+                .parse(new ByteArrayInputStream(members.toByteArray())).getResult(), 20_000);
+    }
+
+    @Test
+    void shouldInflateBgzfMembersInParallel(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("readings.csv.bgz");
+        Files.write(file, bgzf(csv(200_000).getBytes(StandardCharsets.UTF_8)));
+
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false).parallelism(4).parse(file).getResult(), 200_000);
+        assertParsed(Parsefy.builder(Reading.class).strictMode(false).parse(file).getResult(), 200_000);
+    }
+
+    @Test
+    void shouldRejectCorruptBgzfMember() {
+        byte[] bytes = bgzf(csv(50_000).getBytes(StandardCharsets.UTF_8));
+        // Flips a bit of the first member's CRC
+        int firstSize = (bytes[16] & 0xff | (bytes[17] & 0xff) << 8) + 1;
+        bytes[firstSize - 8] ^= 1;
+
+        // The header is read from the first member, so the error comes straight from the parse
+        ZipException error = assertThrows(ZipException.class, () -> Parsefy.builder(Reading.class)
+                .strictMode(false)
+                .parallelism(2)
+                .parse(new ByteArrayInputStream(bytes)));
+        assertEquals("Corrupt BGZF member at offset 0: size or CRC does not match", error.getMessage());
+    }
+
+    @Test
+    void shouldCloseEarlyWithoutReadingEverything() throws Exception {
+        byte[] compressed = gzip(csv(500_000).getBytes(StandardCharsets.UTF_8));
+        try (Stream<Reading> rows = Parsefy.builder(Reading.class).strictMode(false)
+                .stream(new ByteArrayInputStream(compressed), error -> {
+                })) {
+            assertEquals("sensor-0", rows.findFirst().get().getSensor());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.SchemaReader;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DedupeTest {
+
+    @CsvSchema
+    public static class Payment {
+        @CsvColumn(name = "id")
+        private String id;
+
+        @Dedupe
+        @CsvColumn(name = "currency")
+        private String currency;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+    }
+
+    @CsvSchema
+    public static class BadDedupe {
+        @Dedupe
+        @CsvColumn(name = "amount")
+        private int amount;
+    }
+
+    @Test
+    void shouldShareOneStringPerDistinctValue() throws Exception {
+        StringBuilder csv = new StringBuilder("id,currency\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("p").append(i % 2).append(',').append(i % 3 == 0 ? "EUR" : "USD").append('\n');
+        }
+
+        for (Tokenizers tokenizer : Tokenizers.values()) {
+            for (boolean pipelined : new boolean[]{false, true}) {
+                Parsefy<Payment> parser = Parsefy.builder(Payment.class).tokenizer(tokenizer);
+                List<Payment> rows = (pipelined ? parser.pipelined(8) : parser)
+                        .parse(csv.toString()).getResult().getValidRows();
+
+                assertEquals(1000, rows.size());
+                assertEquals("EUR", rows.get(0).getCurrency());
+                assertSame(rows.get(0).getCurrency(), rows.get(999).getCurrency());
+                assertSame(rows.get(1).getCurrency(), rows.get(2).getCurrency());
+                // Not annotated, every row has its own copy
+                assertEquals(rows.get(0).getId(), rows.get(2).getId());
+                assertNotSame(rows.get(0).getId(), rows.get(2).getId());
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyAllowStringFields() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> SchemaReader.compile(BadDedupe.class));
+
+        assertEquals("@Dedupe is only supported on String fields, 'amount' is int", error.getMessage());
+    }
+}
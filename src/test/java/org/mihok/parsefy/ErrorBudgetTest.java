@@ -0,0 +1,133 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.ErrorBudget;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowError;
+import org.mihok.parsefy.exception.ErrorBudgetExceededException;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorBudgetTest {
+
+    @CsvSchema
+    public static class Reading {
+        @NotBlank
+        @CsvColumn(name = "sensor", required = true)
+        private String sensor;
+
+        @Min(value = 0)
+        @Max(value = 100)
+        @CsvColumn(name = "value")
+        private int value;
+
+        public String getSensor() {
+            return sensor;
+        }
+    }
+
+    @Test
+    void shouldAbortOnceErrorCountIsExceeded() {
+        List<RowError> seen = new ArrayList<>();
+        ErrorBudgetExceededException error = assertThrows(ErrorBudgetExceededException.class, () -> {
+            try (Stream<Reading> rows = Parsefy.builder(Reading.class)
+                    .strictMode(false)
+                    .errorBudget(ErrorBudget.maxErrors(2))
+                    .stream(new StringReader(csv(100, 10)), seen::add)) {
+                rows.count();
+            }
+        });
+
+        assertEquals(30, error.getRowNumber());
+        assertEquals(3, error.getErrorCount());
+        assertEquals("Error budget exceeded at row 30: 3 invalid rows, at most 2 allowed", error.getMessage());
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    void shouldToleratePlannedErrors() throws Exception {
+        ParsefyResult<Reading> result = Parsefy.builder(Reading.class)
+                .strictMode(false)
+                .errorBudget(ErrorBudget.maxErrors(10))
+                .parse(csv(100, 10))
+                .getResult();
+
+        assertEquals(90, result.getValidRows().size());
+        assertEquals(10, result.getErrors().size());
+    }
+
+    @Test
+    void shouldAbortWhenWindowRatioIsExceeded() {
+        // 1 in 10 rows is invalid until row 50, then every other row
+        StringBuilder csv = new StringBuilder("sensor,value\n");
+        for (int i = 1; i <= 100; i++) {
+            boolean bad = i < 50 ? i % 10 == 0 : i % 2 == 0;
+            csv.append('s').append(i).append(',').append(bad ? 500 : 50).append('\n');
+        }
+
+        ErrorBudgetExceededException error = assertThrows(ErrorBudgetExceededException.class,
+                () -> Parsefy.builder(Reading.class)
+                        .strictMode(false)
+                        .errorBudget(ErrorBudget.maxRatio(0.2, 20))
+                        .parse(csv.toString()));
+
+        // Rows 37..56 are the first window with more than 4 errors: 40, 50, 52, 54 and 56
+        assertEquals(56, error.getRowNumber());
+        assertTrue(error.getMessage().contains("of the last 20 rows invalid, at most 4"), error.getMessage());
+    }
+
+    @Test
+    void shouldApplyBudgetToPipelinedParse() {
+        ErrorBudgetExceededException error = assertThrows(ErrorBudgetExceededException.class,
+                () -> Parsefy.builder(Reading.class)
+                        .strictMode(false)
+                        .pipelined(8)
+                        .errorBudget(ErrorBudget.maxErrors(0))
+                        .parse(csv(100, 10)));
+
+        assertEquals(10, error.getRowNumber());
+    }
+
+    @Test
+    void shouldStopAtFirstFailingField() throws Exception {
+        String csv = "sensor,value\n ,-5\nok,500\nfine,5";
+
+        ParsefyResult<Reading> full = Parsefy.builder(Reading.class).strictMode(false).parse(csv).getResult();
+        ParsefyResult<Reading> shortCircuit = Parsefy.builder(Reading.class).strictMode(false).shortCircuit(true)
+                .parse(csv).getResult();
+
+        assertEquals(2, full.getErrors().get(0).getErrors().size());
+        assertEquals(1, shortCircuit.getErrors().get(0).getErrors().size());
+        assertEquals(full.getErrors().get(0).getErrors().get(0), shortCircuit.getErrors().get(0).getErrors().get(0));
+        assertEquals(rowNumbers(full.getErrors()), rowNumbers(shortCircuit.getErrors()));
+        assertEquals(1, shortCircuit.getValidRows().size());
+        assertEquals("fine", shortCircuit.getValidRows().get(0).getSensor());
+    }
+
+    @Test
+    void shouldRejectInvalidBudgets() {
+        assertThrows(IllegalArgumentException.class, () -> ErrorBudget.maxErrors(-1));
+        assertThrows(IllegalArgumentException.class, () -> ErrorBudget.maxRatio(1.5, 10));
+        assertThrows(IllegalArgumentException.class, () -> ErrorBudget.maxRatio(0.1, 0));
+    }
+
+    // Every row whose number is a multiple of badEvery is out of range
+    private static String csv(int rows, int badEvery) {
+        StringBuilder csv = new StringBuilder("sensor,value\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append('s').append(i).append(',').append(i % badEvery == 0 ? 500 : 50).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static List<Long> rowNumbers(List<RowError> errors) {
+        return errors.stream().map(RowError::getRowNumber).collect(Collectors.toList());
+    }
+}
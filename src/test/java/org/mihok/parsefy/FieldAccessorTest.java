@@ -0,0 +1,49 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.FieldAccessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldAccessorTest {
+
+    static class Reading {
+        private int count;
+        private long total;
+        private double ratio;
+        private boolean active;
+        private Integer boxed;
+    }
+
+    @Test
+    void shouldSetPrimitiveFieldsWithoutBoxing() throws Exception {
+        Reading reading = new Reading();
+
+        FieldAccessor.of(Reading.class.getDeclaredField("count")).setInt(reading, 7);
+        FieldAccessor.of(Reading.class.getDeclaredField("total")).setLong(reading, 9L);
+        FieldAccessor.of(Reading.class.getDeclaredField("ratio")).setDouble(reading, 0.5d);
+        FieldAccessor.of(Reading.class.getDeclaredField("active")).setBoolean(reading, true);
+
+        assertEquals(7, reading.count);
+        assertEquals(9L, reading.total);
+        assertEquals(0.5d, reading.ratio);
+        assertTrue(reading.active);
+    }
+
+    @Test
+    void shouldFallBackToBoxedSetterForWrapperFields() throws Exception {
+        Reading reading = new Reading();
+        FieldAccessor boxed = FieldAccessor.of(Reading.class.getDeclaredField("boxed"));
+
+        boxed.setInt(reading, 3);
+
+        assertEquals(3, boxed.get(reading));
+    }
+
+    @Test
+    void shouldRejectNullForPrimitiveField() throws Exception {
+        FieldAccessor count = FieldAccessor.of(Reading.class.getDeclaredField("count"));
+
+        assertThrows(IllegalArgumentException.class, () -> count.set(new Reading(), null));
+    }
+}
@@ -0,0 +1,136 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.ColumnarResult;
+import org.mihok.parsefy.core.ErrorBudget;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowError;
+import org.mihok.parsefy.exception.ErrorBudgetExceededException;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilterTest {
+
+    @CsvSchema
+    public static class Customer {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Max(value = 100)
+        @CsvColumn(name = "age")
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final String CSV = "name,age,region,status\n"
+            + "ana,30,EU,ACTIVE\n"
+            + "bob,abc,US,ACTIVE\n"
+            + "cid,200,EU,ACTIVE\n"
+            + "dan,40,EU,DELETED\n"
+            + "eve,50, EU ,ACTIVE\n";
+
+    @Test
+    void shouldDropRowsBeforeConversion() throws Exception {
+        for (Tokenizers tokenizer : Tokenizers.values()) {
+            ParsefyResult<Customer> result = Parsefy.builder(Customer.class)
+                    .strictMode(false)
+                    .tokenizer(tokenizer)
+                    .filter("region", "EU"::contentEquals)
+                    .filter("status", status -> !"DELETED".contentEquals(status))
+                    .parse(CSV)
+                    .getResult();
+
+            // bob's age would not convert, but his row never gets that far
+            assertEquals(2, result.getValidRows().size(), tokenizer.name());
+            assertEquals("eve", result.getValidRows().get(1).getName());
+            assertEquals(1, result.getErrors().size());
+            assertEquals(3, result.getErrors().get(0).getRowNumber());
+            assertEquals(2, result.getFilteredRows());
+        }
+    }
+
+    @Test
+    void shouldCombineFiltersOnSameColumn() throws Exception {
+        ParsefyResult<Customer> result = Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .filter("name", name -> name.charAt(0) != 'b')
+                .filter("name", name -> name.charAt(0) != 'c')
+                .parse(CSV)
+                .getResult();
+
+        assertEquals(3, result.getValidRows().size());
+        assertEquals(2, result.getFilteredRows());
+    }
+
+    @Test
+    void shouldFilterStreamsPipelinesAndColumns() throws Exception {
+        try (Stream<Customer> rows = Parsefy.builder(Customer.class)
+                .pipelined(4)
+                .filter("region", "US"::contentEquals)
+                .filter("age", age -> false)
+                .stream(new StringReader(CSV))) {
+            assertEquals(0, rows.count());
+        }
+
+        ColumnarResult columns = Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .filter("status", "ACTIVE"::contentEquals)
+                .parseColumnar(CSV.replace("bob,abc", "bob,10"));
+        assertEquals(3, columns.getRowCount());
+        assertEquals(1, columns.getFilteredRows());
+    }
+
+    @Test
+    void shouldRejectUnknownFilterColumn() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> Parsefy.builder(Customer.class)
+                .filter("country", value -> true)
+                .parse(CSV));
+
+        assertEquals("Filter column 'country' is missing", error.getMessage());
+    }
+
+    @Test
+    void shouldLeaveFilteredRowsOutOfParallelErrorBudget(@TempDir Path dir) throws Exception {
+        StringBuilder csv = new StringBuilder("name,age,region\n");
+        for (int i = 0; i < 120_000; i++) {
+            // Every US row is invalid, every fourth EU row too
+            boolean us = i % 2 == 0;
+            csv.append("name").append(i).append(',').append(us || i % 8 == 1 ? 500 : 20).append(',')
+                    .append(us ? "US" : "EU").append('\n');
+        }
+        Path file = dir.resolve("customers.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        Parsefy<Customer> sequential = Parsefy.builder(Customer.class).strictMode(false)
+                .filter("region", "EU"::contentEquals).errorBudget(ErrorBudget.maxRatio(0.3, 100));
+        Parsefy<Customer> parallel = Parsefy.builder(Customer.class).strictMode(false).parallelism(4)
+                .filter("region", "EU"::contentEquals).errorBudget(ErrorBudget.maxRatio(0.3, 100));
+        ParsefyResult<Customer> expected = sequential.parse(file).getResult();
+        ParsefyResult<Customer> actual = parallel.parse(file).getResult();
+
+        assertEquals(60_000, actual.getFilteredRows());
+        assertEquals(expected.getErrors().size(), actual.getErrors().size());
+        assertEquals(expected.getErrors().stream().map(RowError::getRowNumber).collect(Collectors.toList()),
+                actual.getErrors().stream().map(RowError::getRowNumber).collect(Collectors.toList()));
+
+        ErrorBudgetExceededException error = assertThrows(ErrorBudgetExceededException.class,
+                () -> Parsefy.builder(Customer.class).strictMode(false).parallelism(4)
+                        .filter("region", "US"::contentEquals).errorBudget(ErrorBudget.maxRatio(0.3, 100)).parse(file));
+        // The 31st invalid row of the last 100 unfiltered ones
+        assertEquals(61, error.getRowNumber());
+    }
+}
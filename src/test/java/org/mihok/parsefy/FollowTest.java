@@ -0,0 +1,208 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.FileFollower;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.RowError;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FollowTest {
+
+    @CsvSchema
+    public static class Event {
+        @NotBlank
+        @CsvColumn(name = "id", required = true)
+        private String id;
+
+        @Max(value = 100)
+        @CsvColumn(name = "level")
+        private int level;
+
+        @CsvColumn(name = "message")
+        private String message;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final BlockingQueue<Event> rows = new LinkedBlockingQueue<>();
+    private final BlockingQueue<RowError> errors = new LinkedBlockingQueue<>();
+
+    private static void append(Path file, String text) throws Exception {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private Event nextRow() throws InterruptedException {
+        Event row = rows.poll(10, TimeUnit.SECONDS);
+        assertNotNull(row, "no row delivered");
+        return row;
+    }
+
+    private static void awaitRecordNumber(FileFollower follower, long recordNumber) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (follower.getRecordNumber() != recordNumber && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(recordNumber, follower.getRecordNumber());
+    }
+
+    @Test
+    void shouldDeliverAppendedRecords(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\ne1,10,start\n".getBytes(StandardCharsets.UTF_8));
+
+        try (FileFollower follower = Parsefy.builder(Event.class).strictMode(false)
+                .follow(file, rows::add, errors::add, Duration.ofMillis(20))) {
+            assertEquals("e1", nextRow().getId());
+
+            append(file, "e2,20,running\ne3,500,overheated\ne4,3");
+            assertEquals("e2", nextRow().getId());
+            RowError error = errors.poll(10, TimeUnit.SECONDS);
+            assertNotNull(error);
+            assertEquals(3, error.getRowNumber());
+            // e4 has no line break yet
+            assertNull(rows.poll(200, TimeUnit.MILLISECONDS));
+
+            append(file, "0,\"two\nlines\"\n");
+            Event last = nextRow();
+            assertEquals("e4", last.getId());
+            assertEquals("two\nlines", last.getMessage());
+            // The offset moves once the whole batch has been delivered
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (follower.getRecordNumber() < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(4, follower.getRecordNumber());
+            assertEquals(Files.size(file), follower.getByteOffset());
+        }
+    }
+
+    @Test
+    void shouldTreatQuoteInsideUnquotedCellAsText(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\ne1,10,5\" pipe\n".getBytes(StandardCharsets.UTF_8));
+
+        try (FileFollower follower = Parsefy.builder(Event.class)
+                .follow(file, rows::add, errors::add, Duration.ofMillis(20))) {
+            assertEquals("5\" pipe", nextRow().getMessage());
+
+            append(file, "e2,20,\"two\nlines\"\n");
+            Event second = nextRow();
+            assertEquals("e2", second.getId());
+            assertEquals("two\nlines", second.getMessage());
+            assertTrue(follower.isRunning());
+        }
+    }
+
+    @Test
+    void shouldWaitForHeaderAndFollowTruncatedFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, new byte[0]);
+
+        try (FileFollower follower = Parsefy.builder(Event.class)
+                .follow(file, rows::add, errors::add, Duration.ofMillis(20))) {
+            append(file, "id,level,mess");
+            append(file, "age\ne1,1,a\ne2,2,b\n");
+            assertEquals("e1", nextRow().getId());
+            assertEquals("e2", nextRow().getId());
+
+            Files.write(file, "id,level,message\nx1,1,c\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals("x1", nextRow().getId());
+            assertTrue(follower.isRunning());
+        }
+    }
+
+    @Test
+    void shouldFollowFileTruncatedAndRegrownPastItsOldSize(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\ne1,1,a\n".getBytes(StandardCharsets.UTF_8));
+
+        try (FileFollower follower = Parsefy.builder(Event.class)
+                .follow(file, rows::add, errors::add, Duration.ofMillis(20))) {
+            assertEquals("e1", nextRow().getId());
+            awaitRecordNumber(follower, 1);
+
+            // The follower has to see the empty file, a regrown file is otherwise taken for an appended one
+            Files.write(file, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+            awaitRecordNumber(follower, 0);
+            append(file, "id,level,message\nx1,1,longer than before\nx2,2,b\n");
+            assertEquals("x1", nextRow().getId());
+            assertEquals("x2", nextRow().getId());
+            awaitRecordNumber(follower, 2);
+            assertEquals(Files.size(file), follower.getByteOffset());
+        }
+    }
+
+    @Test
+    void shouldReopenFileReplacedByRename(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\ne1,1,a\n".getBytes(StandardCharsets.UTF_8));
+
+        try (FileFollower follower = Parsefy.builder(Event.class)
+                .follow(file, rows::add, errors::add, Duration.ofMillis(20))) {
+            assertEquals("e1", nextRow().getId());
+
+            // Rotation: the last record still reaches the old file, then a new file takes its name
+            append(file, "e2,2,b\n");
+            Files.move(file, dir.resolve("events.csv.1"));
+            Files.write(file, "id,level,message\nr1,1,rotated\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("e2", nextRow().getId());
+            assertEquals("r1", nextRow().getId());
+
+            append(file, "r2,2,c\n");
+            assertEquals("r2", nextRow().getId());
+            awaitRecordNumber(follower, 2);
+            assertTrue(follower.isRunning());
+        }
+    }
+
+    @Test
+    void shouldStopOnInvalidRowInStrictMode(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\ne1,10,start\n".getBytes(StandardCharsets.UTF_8));
+
+        FileFollower follower = Parsefy.builder(Event.class).follow(file, rows::add, errors::add, Duration.ofMillis(20));
+        assertEquals("e1", nextRow().getId());
+        append(file, "e2,500,overheated\n");
+
+        assertThrows(RuntimeException.class, follower::await);
+        assertFalse(follower.isRunning());
+    }
+
+    @Test
+    void shouldStopWhenClosed(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "id,level,message\n".getBytes(StandardCharsets.UTF_8));
+
+        FileFollower follower = Parsefy.builder(Event.class).follow(file, rows::add, errors::add);
+        follower.close();
+        follower.await();
+        assertFalse(follower.isRunning());
+    }
+
+    @Test
+    void shouldRejectMissingColumn(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.csv");
+        Files.write(file, "level,message\n".getBytes(StandardCharsets.UTF_8));
+
+        FileFollower follower = Parsefy.builder(Event.class).follow(file, rows::add, errors::add);
+        assertThrows(RuntimeException.class, follower::await);
+    }
+}
@@ -0,0 +1,175 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.ErrorBudget;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.RowError;
+import org.mihok.parsefy.exception.ErrorBudgetExceededException;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelParseTest {
+
+    @CsvSchema
+    public static class Ticket {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Max(value = 30)
+        @CsvColumn(name = "age")
+        private int age;
+
+        @CsvColumn(name = "comment")
+        private String comment;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    @Test
+    void shouldMatchSequentialParseAcrossChunks(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 150_000, -1);
+
+        ParsefyResult<Ticket> sequential = Parsefy.builder(Ticket.class).strictMode(false).parse(file).getResult();
+        ParsefyResult<Ticket> parallel = Parsefy.builder(Ticket.class).strictMode(false).parallelism(4)
+                .tokenizer(Tokenizers.FAST).parse(file).getResult();
+
+        assertEquals(sequential.getValidRows().size(), parallel.getValidRows().size());
+        for (int i = 0; i < sequential.getValidRows().size(); i++) {
+            assertEquals(sequential.getValidRows().get(i).getName(), parallel.getValidRows().get(i).getName());
+            assertEquals(sequential.getValidRows().get(i).getComment(), parallel.getValidRows().get(i).getComment());
+        }
+        assertEquals(rowNumbers(sequential.getErrors()), rowNumbers(parallel.getErrors()));
+        assertEquals(150_000 / 7 + 1, parallel.getErrors().size());
+    }
+
+    @Test
+    void shouldReportSameFailureAsSequentialParse(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 150_000, 110_000);
+
+        RuntimeException sequential = assertThrows(RuntimeException.class,
+                () -> Parsefy.builder(Ticket.class).strictMode(false).parse(file));
+        RuntimeException parallel = assertThrows(RuntimeException.class,
+                () -> Parsefy.builder(Ticket.class).strictMode(false).parallelism(4).parse(file));
+
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+        assertTrue(parallel.getMessage().contains("110001"), parallel.getMessage());
+    }
+
+    @Test
+    void shouldExceedErrorBudgetAtSameRowAsSequentialParse(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 150_000, -1);
+
+        ErrorBudgetExceededException sequential = assertThrows(ErrorBudgetExceededException.class,
+                () -> Parsefy.builder(Ticket.class).strictMode(false).errorBudget(ErrorBudget.maxErrors(15_000)).parse(file));
+        ErrorBudgetExceededException parallel = assertThrows(ErrorBudgetExceededException.class,
+                () -> Parsefy.builder(Ticket.class).strictMode(false).errorBudget(ErrorBudget.maxErrors(15_000))
+                        .parallelism(4).parse(file));
+
+        assertEquals(105_001, sequential.getRowNumber());
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+        assertEquals(15_001, parallel.getErrorCount());
+    }
+
+    @Test
+    void shouldKeepRatioBudgetAcrossChunks(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 150_000, -1);
+
+        ParsefyResult<Ticket> result = Parsefy.builder(Ticket.class).strictMode(false).parallelism(4)
+                .errorBudget(ErrorBudget.maxRatio(0.15, 700)).parse(file).getResult();
+
+        assertEquals(150_000 / 7 + 1, result.getErrors().size());
+    }
+
+    @Test
+    void shouldNotDeadlockPipelinedChunksOnBoundedExecutor(@TempDir Path dir) throws Exception {
+        Path file = write(dir, 150_000, -1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            ParsefyResult<Ticket> result = assertTimeoutPreemptively(Duration.ofSeconds(60),
+                    () -> Parsefy.builder(Ticket.class).strictMode(false).parallelism(2).pipelined(4).executor(pool)
+                            .parse(file).getResult());
+
+            assertEquals(150_000 - (150_000 / 7 + 1), result.getValidRows().size());
+            assertEquals(150_000 / 7 + 1, result.getErrors().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSplitOnRecordsAfterQuoteInsideUnquotedCell(@TempDir Path dir) throws Exception {
+        StringBuilder csv = new StringBuilder("name,age,comment\n");
+        for (int i = 0; i < 150_000; i++) {
+            csv.append("name").append(i).append(",20,")
+                    .append(i == 5 ? "5\" pipe" : i % 3 == 0 ? "\"line one\nline two\"" : "plain").append('\n');
+        }
+        Path file = dir.resolve("tickets.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        ParsefyResult<Ticket> parallel = Parsefy.builder(Ticket.class).strictMode(false).parallelism(4)
+                .parse(file).getResult();
+
+        assertTrue(parallel.getErrors().isEmpty());
+        assertEquals(150_000, parallel.getValidRows().size());
+        assertEquals("5\" pipe", parallel.getValidRows().get(5).getComment());
+        for (int i = 0; i < 150_000; i += 3) {
+            assertEquals("line one\nline two", parallel.getValidRows().get(i).getComment());
+        }
+    }
+
+    @Test
+    void shouldFallBackToSequentialForSmallFiles(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("small.csv");
+        Files.write(file, "name,age\nmario,25\nbudi,35".getBytes(StandardCharsets.UTF_8));
+
+        ParsefyResult<Ticket> result = Parsefy.builder(Ticket.class).strictMode(false).parallelism(8).parse(file).getResult();
+
+        assertEquals(1, result.getValidRows().size());
+        assertEquals(2, result.getErrors().get(0).getRowNumber());
+    }
+
+    // Every 7th row breaks @Max, comments span lines and contain delimiters and escaped quotes
+    private static Path write(Path dir, int rows, int truncatedRow) throws Exception {
+        StringBuilder csv = new StringBuilder("name,age,comment\r\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("name").append(i).append(',');
+            if (i == truncatedRow) {
+                csv.append("20\n");
+                continue;
+            }
+            csv.append(i % 7 == 0 ? 40 : 20).append(',');
+            if (i % 3 == 0) {
+                csv.append("\"line one, \"\"quoted\"\"\nline two ").append(i).append('"');
+            } else {
+                csv.append("plain comment for row ").append(i);
+            }
+            csv.append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        Path file = dir.resolve("tickets.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Long> rowNumbers(List<RowError> errors) {
+        return errors.stream().map(RowError::getRowNumber).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,241 @@
+package org.mihok.parsefy;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mihok.parsefy.core.CheckpointStore;
+import org.mihok.parsefy.core.ColumnarResult;
+import org.mihok.parsefy.core.JfrParseListener;
+import org.mihok.parsefy.core.ParseListener;
+import org.mihok.parsefy.core.ParseMetrics;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseListenerTest {
+
+    @CsvSchema
+    public static class Customer {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Min(value = 0)
+        @Max(value = 100)
+        @CsvColumn(name = "age")
+        private int age;
+    }
+
+    private static final String CSV = "name,age,region\n"
+            + "ana,30,EU\n"
+            + "bob,40,US\n"
+            + "cid,200,EU\n"
+            + "dan,50,EU\n";
+
+    private static class Recorder implements ParseListener {
+        private final List<Long> rows = new ArrayList<>();
+        private final List<ParseMetrics> finished = new ArrayList<>();
+
+        @Override
+        public void rowParsed(long rowNumber, long nanos) {
+            assertTrue(nanos >= 0);
+            rows.add(rowNumber);
+        }
+
+        @Override
+        public void parseFinished(ParseMetrics metrics) {
+            finished.add(metrics);
+        }
+
+        ParseMetrics metrics() {
+            assertEquals(1, finished.size());
+            return finished.get(0);
+        }
+    }
+
+    @Test
+    void shouldCountRowsAndTimeStages() throws Exception {
+        Recorder recorder = new Recorder();
+        ParsefyResult<Customer> result = Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .filter("region", "EU"::contentEquals)
+                .listener(recorder)
+                .parse(CSV)
+                .getResult();
+
+        ParseMetrics metrics = recorder.metrics();
+        assertEquals(2, result.getValidRows().size());
+        assertEquals(4, metrics.getRowsRead());
+        assertEquals(2, metrics.getValidRows());
+        assertEquals(1, metrics.getRejectedRows());
+        assertEquals(1, metrics.getFilteredRows());
+        assertEquals(CSV.length(), metrics.getCharsRead());
+        // A Reader hands over characters only
+        assertEquals(0, metrics.getBytesRead());
+        assertEquals(Arrays.asList(1L, 3L, 4L), recorder.rows);
+        assertEquals(Arrays.asList("name", "age"), new ArrayList<>(metrics.getConvertNanosByField().keySet()));
+        assertEquals(Arrays.asList("name:NotBlankValidator", "age:MinValidator", "age:MaxValidator"),
+                new ArrayList<>(metrics.getValidateNanosByValidator().keySet()));
+        assertTrue(metrics.getConvertNanos() > 0);
+        assertTrue(metrics.getValidateNanos() > 0);
+        assertEquals(metrics.getConvertNanos(), metrics.getConvertNanosByField().values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(metrics.getTotalNanos() >= metrics.getReadNanos() + metrics.getTokenizeNanos());
+        // Frozen once the parse finished
+        assertEquals(metrics.getTotalNanos(), metrics.getTotalNanos());
+    }
+
+    @Test
+    void shouldReportPipelinedRowsInFileOrder() throws Exception {
+        Recorder recorder = new Recorder();
+        Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .pipelined(3)
+                .listener(recorder)
+                .parse(CSV);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), recorder.rows);
+        assertEquals(3, recorder.metrics().getValidRows());
+        assertEquals(1, recorder.metrics().getRejectedRows());
+    }
+
+    @Test
+    void shouldReportFailedParse() {
+        Recorder recorder = new Recorder();
+        assertThrows(RuntimeException.class, () -> Parsefy.builder(Customer.class)
+                .listener(recorder)
+                .parse(CSV));
+
+        assertEquals(3, recorder.metrics().getRowsRead());
+        assertEquals(2, recorder.metrics().getValidRows());
+        assertEquals(1, recorder.metrics().getRejectedRows());
+    }
+
+    @Test
+    void shouldReportColumnarParse() throws Exception {
+        Recorder recorder = new Recorder();
+        ColumnarResult columns = Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .listener(recorder)
+                .parseColumnar(CSV);
+
+        assertEquals(3, columns.getRowCount());
+        assertEquals(4, recorder.metrics().getRowsRead());
+        assertEquals(1, recorder.metrics().getRejectedRows());
+        assertEquals(CSV.length(), recorder.metrics().getCharsRead());
+    }
+
+    @Test
+    void shouldMergeParallelChunks(@TempDir Path dir) throws Exception {
+        StringBuilder csv = new StringBuilder("name,age,region\n");
+        for (int i = 0; i < 120_000; i++) {
+            csv.append("name").append(i).append(',').append(i % 10 == 0 ? 500 : 20).append(",EU\n");
+        }
+        Path file = dir.resolve("customers.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        Recorder recorder = new Recorder();
+        Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .parallelism(4)
+                .listener(recorder)
+                .parse(file);
+
+        ParseMetrics metrics = recorder.metrics();
+        assertEquals(120_000, metrics.getRowsRead());
+        assertEquals(108_000, metrics.getValidRows());
+        assertEquals(12_000, metrics.getRejectedRows());
+        assertEquals(Files.size(file) - "name,age,region\n".length(), metrics.getCharsRead());
+        assertEquals(Files.size(file) - "name,age,region\n".length(), metrics.getBytesRead());
+        assertEquals(120_000, recorder.rows.size());
+        for (int i = 0; i < recorder.rows.size(); i++) {
+            assertEquals(i + 1, recorder.rows.get(i));
+        }
+    }
+
+    @Test
+    void shouldCountBytesBelowTheDecoder(@TempDir Path dir) throws Exception {
+        String csv = "name,age,region\nzo\u00eb,30,EU\nren\u00e9e,40,EU\n";
+        Path file = dir.resolve("customers.csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+
+        Recorder sequential = new Recorder();
+        Parsefy.builder(Customer.class).strictMode(false).listener(sequential).parse(file);
+        Recorder mapped = new Recorder();
+        Parsefy.builder(Customer.class).strictMode(false).memoryMapped(true).listener(mapped).parse(file);
+        Recorder stream = new Recorder();
+        try (InputStream in = Files.newInputStream(file)) {
+            Parsefy.builder(Customer.class).strictMode(false).listener(stream).parse(in);
+        }
+        Recorder compiled = new Recorder();
+        try (InputStream in = Files.newInputStream(file)) {
+            Parsefy.builder(Customer.class).strictMode(false).listener(compiled).compile().parse(in);
+        }
+
+        for (Recorder recorder : Arrays.asList(sequential, mapped, stream, compiled)) {
+            assertEquals(Files.size(file), recorder.metrics().getBytesRead());
+            assertEquals(csv.length(), recorder.metrics().getCharsRead());
+        }
+    }
+
+    @Test
+    void shouldReportRowsOfCheckpointedSegments(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("customers.csv");
+        Files.write(file, CSV.getBytes(StandardCharsets.UTF_8));
+
+        Recorder recorder = new Recorder();
+        Parsefy.builder(Customer.class)
+                .strictMode(false)
+                .checkpoints(CheckpointStore.file(dir.resolve("customers.checkpoint")), 12)
+                .listener(recorder)
+                .parseInBatches(file, 10, batch -> {
+                });
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), recorder.rows);
+        assertEquals(4, recorder.metrics().getRowsRead());
+        assertEquals(CSV.length() - "name,age,region\n".length(), recorder.metrics().getCharsRead());
+        assertEquals(CSV.length() - "name,age,region\n".length(), recorder.metrics().getBytesRead());
+    }
+
+    @Test
+    void shouldRecordJfrEvents(@TempDir Path dir) throws Exception {
+        Path dump = dir.resolve("parse.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.mihok.parsefy.Parse");
+            recording.enable("org.mihok.parsefy.SlowRow");
+            recording.start();
+            Parsefy.builder(Customer.class)
+                    .strictMode(false)
+                    .listener(new JfrParseListener(Duration.ZERO))
+                    .parse(CSV);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> parses = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.mihok.parsefy.Parse"))
+                .collect(Collectors.toList());
+        assertEquals(1, parses.size());
+        assertEquals(Customer.class.getName(), parses.get(0).getString("schema"));
+        assertEquals(4, parses.get(0).getLong("rowsRead"));
+        assertEquals(1, parses.get(0).getLong("rejectedRows"));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.mihok.parsefy.SlowRow"))
+                .map(event -> event.getLong("rowNumber"))
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+}
@@ -1,10 +1,15 @@
 package org.mihok.parsefy;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mihok.parsefy.core.Parsefy;
 import org.mihok.parsefy.dto.Wafer;
+import org.mihok.parsefy.tokenizer.Tokenizers;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -51,4 +56,63 @@ public class ParsefyTest {
         assertEquals("SG08", result.get(1).getFab());
         assertEquals("SG12", result.get(2).getFab());
     }
+
+    @Test
+    void shouldParseWithFastTokenizer() throws Exception {
+        String csv = "fab;vendor_code\nSG18;\"VC;1\"\n\nSG08;VC2";
+
+        List<Wafer> result = Parsefy.builder(Wafer.class)
+                .tokenizer(Tokenizers.FAST)
+                .delimiter(";")
+                .parse(new ByteArrayInputStream(csv.getBytes()))
+                .getResult()
+                .getValidRows();
+
+        assertEquals(2, result.size());
+        assertEquals("VC;1", result.get(0).getVendorCode());
+        assertEquals("SG08", result.get(1).getFab());
+    }
+
+    @Test
+    void shouldParseMemoryMappedFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("wafers.csv");
+        Files.write(file, "fab,vendor_code\nSG18,\"VC,\u00fc\"\nSG08,VC2\n".getBytes(StandardCharsets.UTF_8));
+
+        for (Tokenizers tokenizer : Tokenizers.values()) {
+            List<Wafer> fromPath = Parsefy.builder(Wafer.class).memoryMapped(true).tokenizer(tokenizer)
+                    .parse(file).getResult().getValidRows();
+            List<Wafer> fromFile = Parsefy.builder(Wafer.class).memoryMapped(true).tokenizer(tokenizer)
+                    .parse(file.toFile()).getResult().getValidRows();
+
+            assertEquals(2, fromPath.size());
+            assertEquals("VC,\u00fc", fromPath.get(0).getVendorCode());
+            assertEquals("SG08", fromFile.get(1).getFab());
+        }
+    }
+
+    @Test
+    void shouldSkipUnmappedColumnsOfWideFile() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int column = 0; column < 300; column++) {
+            csv.append(column == 120 ? "fab" : column == 250 ? "vendor_code" : "col" + column).append(',');
+        }
+        csv.setLength(csv.length() - 1);
+        for (int row = 0; row < 50; row++) {
+            csv.append('\n');
+            for (int column = 0; column < 300; column++) {
+                csv.append(column == 120 ? "SG" + row : column % 7 == 0 ? "\"q,\"\"" + row + "\"\"\"" : "v" + row).append(',');
+            }
+            csv.setLength(csv.length() - 1);
+        }
+
+        List<Wafer> commons = Parsefy.builder(Wafer.class).parse(csv.toString()).getResult().getValidRows();
+        List<Wafer> fast = Parsefy.builder(Wafer.class).tokenizer(Tokenizers.FAST).parse(csv.toString()).getResult().getValidRows();
+
+        assertEquals(50, fast.size());
+        for (int row = 0; row < 50; row++) {
+            assertEquals(commons.get(row).getFab(), fast.get(row).getFab());
+            assertEquals(commons.get(row).getVendorCode(), fast.get(row).getVendorCode());
+        }
+        assertEquals("SG49", fast.get(49).getFab());
+    }
 }
@@ -0,0 +1,122 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.ParsefyResult;
+import org.mihok.parsefy.core.validator.FieldValidator;
+import org.mihok.parsefy.tokenizer.Tokenizers;
+import org.mihok.parsefy.validation.ValidationResult;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTest {
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger PEAK = new AtomicInteger();
+
+    // Stands in for a lookup against a remote service
+    public static class SlowCodeValidator implements FieldValidator<String> {
+        @Override
+        public ValidationResult validate(String value) {
+            PEAK.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+            return value != null && value.startsWith("X")
+                    ? ValidationResult.error("Unknown code " + value)
+                    : ValidationResult.success();
+        }
+    }
+
+    @CsvSchema
+    public static class Shipment {
+        @CsvColumn(name = "id", required = true)
+        private int id;
+
+        @CustomValidator(SlowCodeValidator.class)
+        @CsvColumn(name = "code")
+        private String code;
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @Test
+    void shouldOverlapValidatorsAndKeepFileOrder() throws Exception {
+        String csv = csv(64);
+        PEAK.set(0);
+
+        ParsefyResult<Shipment> result = Parsefy.builder(Shipment.class)
+                .strictMode(false)
+                .tokenizer(Tokenizers.FAST)
+                .pipelined(16)
+                .parse(csv)
+                .getResult();
+
+        assertEquals(58, result.getValidRows().size());
+        for (int i = 1; i < result.getValidRows().size(); i++) {
+            assertTrue(result.getValidRows().get(i - 1).getId() < result.getValidRows().get(i).getId());
+        }
+        assertEquals(6, result.getErrors().size());
+        assertEquals(6, result.getErrors().get(0).getRowNumber());
+        assertEquals("Unknown code X5", result.getErrors().get(0).getErrors().get(0));
+        assertTrue(PEAK.get() > 1, "validators never overlapped");
+        assertTrue(PEAK.get() <= 16, "more rows in flight than allowed: " + PEAK.get());
+    }
+
+    @Test
+    void shouldUseSuppliedExecutorAndLeaveItRunning() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Stream<Shipment> rows = Parsefy.builder(Shipment.class)
+                .pipelined(8)
+                .executor(executor)
+                .stream(new StringReader("id,code\n1,A\n2,B\n3,C"))) {
+            List<Integer> ids = rows.map(Shipment::getId).collect(Collectors.toList());
+            assertEquals(3, ids.size());
+            assertEquals(3, ids.get(2));
+        } finally {
+            assertFalse(executor.isShutdown());
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFailOnFirstInvalidRowInStrictMode() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> Parsefy.builder(Shipment.class)
+                .pipelined(8)
+                .parse(csv(40)));
+
+        assertEquals("Unknown code X5", error.getMessage());
+    }
+
+    @Test
+    void shouldReportConversionFailureInOrder() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> Parsefy.builder(Shipment.class)
+                .strictMode(false)
+                .pipelined(8)
+                .parse("id,code\n1,A\nabc,B\n3,X3"));
+
+        assertEquals("Failed to convert value 'abc' to type int", error.getMessage());
+    }
+
+    // Every row whose id ends in 5 carries an unknown code
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("id,code\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',').append(i % 10 == 5 ? "X" : "C").append(i).append('\n');
+        }
+        return csv.toString();
+    }
+}
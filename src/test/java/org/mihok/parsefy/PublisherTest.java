@@ -0,0 +1,171 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.RowError;
+import org.mihok.parsefy.core.RowPublisher;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublisherTest {
+
+    @CsvSchema
+    public static class Person {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Max(value = 30)
+        @CsvColumn(name = "age")
+        private Integer age;
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    static class Recorder<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    static class TrackingReader extends FilterReader {
+        boolean closed;
+
+        TrackingReader(String csv) {
+            super(new StringReader(csv));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    @Test
+    void shouldEmitOnlyRequestedRowsAndRouteErrors() {
+        TrackingReader reader = new TrackingReader("name,age\nmario,25\nbudi,35\nandi,20\nrudi,21");
+        RowPublisher<Person> publisher = Parsefy.builder(Person.class).strictMode(false).publisher(reader);
+        Recorder<Person> rows = new Recorder<>();
+        Recorder<RowError> errors = new Recorder<>();
+        publisher.errors().subscribe(errors);
+        publisher.subscribe(rows);
+
+        assertTrue(rows.items.isEmpty());
+        errors.subscription.request(Long.MAX_VALUE);
+        rows.subscription.request(1);
+        assertEquals(1, rows.items.size());
+        assertTrue(errors.items.isEmpty());
+
+        rows.subscription.request(2);
+        assertEquals(3, rows.items.size());
+        assertEquals("andi", rows.items.get(1).getName());
+        assertEquals(1, errors.items.size());
+        assertEquals(2, errors.items.get(0).getRowNumber());
+        assertFalse(rows.completed);
+
+        rows.subscription.request(1);
+        assertTrue(rows.completed);
+        assertTrue(errors.completed);
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    void shouldPauseParsingWhileErrorsLag() {
+        StringBuilder csv = new StringBuilder("name,age\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append("n").append(i).append(",99\n");
+        }
+        AtomicLong records = new AtomicLong();
+        RowPublisher<Person> publisher = Parsefy.builder(Person.class).strictMode(false)
+                .filter("name", name -> records.incrementAndGet() > 0)
+                .publisher(new StringReader(csv.toString()));
+        Recorder<Person> rows = new Recorder<>();
+        Recorder<RowError> errors = new Recorder<>();
+        publisher.errors().subscribe(errors);
+        publisher.subscribe(rows);
+
+        rows.subscription.request(Long.MAX_VALUE);
+        // The publisher holds at most 1024 errors the errors subscriber has not asked for
+        assertEquals(1024, records.get());
+
+        errors.subscription.request(10);
+        assertEquals(10, errors.items.size());
+        assertEquals(1034, records.get());
+        assertFalse(rows.completed);
+
+        errors.subscription.request(Long.MAX_VALUE);
+        assertEquals(5000, errors.items.size());
+        assertTrue(rows.completed);
+        assertTrue(errors.completed);
+    }
+
+    @Test
+    void shouldCloseReaderOnCancel() {
+        TrackingReader reader = new TrackingReader("name,age\nmario,25\nbudi,26\nandi,20");
+        RowPublisher<Person> publisher = Parsefy.builder(Person.class).publisher(reader);
+        Recorder<Person> rows = new Recorder<>();
+        publisher.subscribe(rows);
+
+        rows.subscription.request(1);
+        rows.subscription.cancel();
+
+        assertEquals(1, rows.items.size());
+        assertTrue(reader.closed);
+        assertFalse(rows.completed);
+    }
+
+    @Test
+    void shouldSignalStrictModeFailure() {
+        RowPublisher<Person> publisher = Parsefy.builder(Person.class).publisher(new StringReader("name,age\nmario,25\nbudi,35"));
+        Recorder<Person> rows = new Recorder<>();
+        publisher.subscribe(rows);
+
+        rows.subscription.request(10);
+
+        assertEquals(1, rows.items.size());
+        assertEquals("Value must be less than or equal to 30", rows.error.getMessage());
+    }
+
+    @Test
+    void shouldRejectSecondSubscriber() {
+        RowPublisher<Person> publisher = Parsefy.builder(Person.class).publisher(new StringReader("name\nmario"));
+        publisher.subscribe(new Recorder<>());
+        Recorder<Person> second = new Recorder<>();
+
+        publisher.subscribe(second);
+
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+}
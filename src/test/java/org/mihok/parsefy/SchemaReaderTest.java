@@ -0,0 +1,41 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.FieldDefinition;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.SchemaDefinition;
+import org.mihok.parsefy.core.SchemaReader;
+import org.mihok.parsefy.dto.Wafer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaReaderTest {
+
+    @Test
+    void shouldCacheCompiledSchemaPerClass() {
+        SchemaDefinition<Wafer> schema = Parsefy.precompile(Wafer.class);
+
+        assertSame(schema, SchemaReader.read(Wafer.class));
+        assertEquals(2, schema.getFields().size());
+    }
+
+    @Test
+    void shouldCompileFreshSchemaOnDemand() {
+        assertNotSame(SchemaReader.read(Wafer.class), SchemaReader.compile(Wafer.class));
+    }
+
+    @Test
+    void shouldNotLetCallersChangeTheSharedSchema() {
+        SchemaDefinition<Wafer> schema = SchemaReader.read(Wafer.class);
+        FieldDefinition field = schema.getFields().get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> schema.getFields().remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> field.getValidators().clear());
+        assertEquals(2, SchemaReader.read(Wafer.class).getFields().size());
+    }
+
+    @Test
+    void shouldRejectClassWithoutCsvSchema() {
+        assertThrows(IllegalArgumentException.class, () -> SchemaReader.read(String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package org.mihok.parsefy;
+
+import org.junit.jupiter.api.Test;
+import org.mihok.parsefy.core.Parsefy;
+import org.mihok.parsefy.core.RowError;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamTest {
+
+    @CsvSchema
+    public static class Person {
+        @NotBlank
+        @CsvColumn(name = "name", required = true)
+        private String name;
+
+        @Max(value = 30)
+        @CsvColumn(name = "age")
+        private Integer age;
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    @Test
+    void shouldStreamValidRowsAndHandErrorsToHandler() throws Exception {
+        String csv = "name,age\nmario,25\nbudi,35\nandi,20";
+        List<RowError> errors = new ArrayList<>();
+
+        List<String> names;
+        try (Stream<Person> rows = Parsefy.builder(Person.class).strictMode(false)
+                .stream(new StringReader(csv), errors::add)) {
+            names = rows.map(Person::getName).collect(Collectors.toList());
+        }
+
+        assertEquals(2, names.size());
+        assertEquals("mario", names.get(0));
+        assertEquals("andi", names.get(1));
+        assertEquals(1, errors.size());
+        assertEquals(2, errors.get(0).getRowNumber());
+    }
+
+    @Test
+    void shouldReadLazily() throws Exception {
+        String csv = "name,age\nmario,25\nbudi,35";
+
+        try (Stream<Person> rows = Parsefy.builder(Person.class).stream(new StringReader(csv))) {
+            Iterator<Person> iterator = rows.iterator();
+            assertEquals("mario", iterator.next().getName());
+            assertThrows(RuntimeException.class, iterator::next);
+        }
+    }
+}
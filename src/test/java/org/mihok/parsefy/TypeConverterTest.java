@@ -2,10 +2,13 @@ package org.mihok.parsefy;
 
 import org.junit.jupiter.api.Test;
 import org.mihok.parsefy.converter.TypeConverter;
+import org.mihok.parsefy.core.Parsefy;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -68,4 +71,42 @@ public class TypeConverterTest {
             TypeConverter.convert("not-a-number", Integer.class, null);
         });
     }
+
+    enum Status {
+        ACTIVE, DELETED
+    }
+
+    @CsvSchema
+    public static class Account {
+        @CsvColumn(name = "id")
+        private UUID id;
+
+        @CsvColumn(name = "status")
+        private Status status;
+
+        @CsvColumn(name = "balance")
+        private BigDecimal balance;
+    }
+
+    @Test
+    void shouldConvertEnumAndUuid() {
+        assertEquals(Status.DELETED, TypeConverter.convert("DELETED", Status.class, null));
+        assertEquals(UUID.fromString("8c1e7a9e-3c2f-4d6b-9a0e-2f1b5c7d9e11"),
+                TypeConverter.convert(" 8c1e7a9e-3c2f-4d6b-9a0e-2f1b5c7d9e11 ", UUID.class, null));
+    }
+
+    @Test
+    void shouldUseConverterRegisteredOnBuilder() throws Exception {
+        String csv = "id,status,balance\n8c1e7a9e-3c2f-4d6b-9a0e-2f1b5c7d9e11,D,\"1.234,50\"";
+
+        List<Account> rows = Parsefy.builder(Account.class)
+                .converter(Status.class, value -> value.equals("D") ? Status.DELETED : Status.ACTIVE)
+                .converter(BigDecimal.class, value -> new BigDecimal(value.replace(".", "").replace(',', '.')))
+                .parse(csv)
+                .getResult()
+                .getValidRows();
+
+        assertEquals(Status.DELETED, rows.get(0).status);
+        assertEquals(new BigDecimal("1234.50"), rows.get(0).balance);
+    }
 }
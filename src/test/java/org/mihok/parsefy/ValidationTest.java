@@ -7,6 +7,8 @@ import org.mihok.parsefy.validation.ValidationResult;
 
 import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,6 +58,17 @@ public class ValidationTest {
         assertEquals("Required field 'name' is missing", exception.getMessage());
     }
 
+    @Test
+    public void shouldFailOnHeaderWhenRequiredColumnIsMissing() {
+        String csv = "name,age\n";
+
+        Exception exception = assertThrows(Exception.class, () -> {
+            Parsefy.builder(Person.class).parse(new ByteArrayInputStream(csv.getBytes()));
+        });
+
+        assertEquals("Required field 'job' is missing", exception.getMessage());
+    }
+
     @Test
     public void shouldPassForNonBlankString() {
         NotBlankValidator validator = new NotBlankValidator("Cannot be blank");
@@ -156,6 +169,46 @@ public class ValidationTest {
         assertFalse(result.isValid());
     }
 
+    @Test
+    public void shouldMatchEmailRegexExactly() {
+        Pattern regex = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        String alphabet = "ab1+_.-@Z9";
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int c = random.nextInt(12); c > 0; c--) {
+                value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (i % 2 == 0) {
+                value.append(".").append(random.nextBoolean() ? "co" : "c1");
+            }
+            String email = value.toString();
+            assertEquals(regex.matcher(email).matches(), EmailValidator.isValidEmail(email), email);
+        }
+        for (String email : new String[]{"a@b.cd", "a@.cd", "a@b..cd", "a@@b.cd", "a@b.c", "a@b.cd\n", "a.b@c-d.e.fg"}) {
+            assertEquals(regex.matcher(email).matches(), EmailValidator.isValidEmail(email), email);
+        }
+    }
+
+    @Test
+    public void shouldCompareUnboxedValuesLikeLongValue() {
+        MinValidator min = new MinValidator(18, "Too small");
+        MaxValidator max = new MaxValidator(30, "Too big");
+
+        assertTrue(min.validateDouble(18.0).isValid());
+        assertFalse(min.validateDouble(17.9).isValid());
+        assertTrue(max.validateDouble(30.9).isValid());
+        assertFalse(max.validateLong(31).isValid());
+        assertEquals(min.validate(17.9).isValid(), min.validateDouble(17.9).isValid());
+        assertTrue(min.validate(null).isValid());
+    }
+
+    @Test
+    public void shouldShareImmutableSuccess() {
+        assertSame(ValidationResult.success(), new NotBlankValidator("Blank").validate("mario"));
+        assertThrows(UnsupportedOperationException.class, () -> ValidationResult.success().addError("boom"));
+    }
+
     public static class VendorCodeValidator implements FieldValidator<String> {
 
         private final String vcPrefix;
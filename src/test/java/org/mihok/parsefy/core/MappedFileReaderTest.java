@@ -0,0 +1,75 @@
+package org.mihok.parsefy.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileReaderTest {
+
+    private static final String TEXT = "name,city\nmario,Z\u00fcrich\nbudi,\u6771\u4eac \ud83d\ude00\n\"multi\nline\",\u00c6r\u00f8\n";
+
+    @Test
+    void shouldDecodeAcrossWindowBoundaries(@TempDir Path dir) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append(TEXT);
+        }
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.UTF_16LE}) {
+            Path file = dir.resolve(charset.name() + ".csv");
+            Files.write(file, text.toString().getBytes(charset));
+            for (long window : new long[]{16, 17, 31, 1 << 20}) {
+                for (int chunk : new int[]{1, 7, 8192}) {
+                    assertEquals(text.toString(), readAll(file, charset, window, chunk), charset + " window " + window + " chunk " + chunk);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldCopyLatin1BytesDirectly(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("latin1.csv");
+        Files.write(file, "a,b\n\u00c6,\u00ff\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        assertEquals("a,b\n\u00c6,\u00ff\n", readAll(file, StandardCharsets.ISO_8859_1, 16, 3));
+    }
+
+    @Test
+    void shouldReadEmptyFile(@TempDir Path dir) throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.csv"));
+
+        assertEquals("", readAll(file, StandardCharsets.UTF_8, 16, 10));
+    }
+
+    @Test
+    void shouldReportMalformedInput(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("broken.csv");
+        Files.write(file, new byte[]{'a', ',', (byte) 0xC3});
+
+        assertThrows(CharacterCodingException.class, () -> readAll(file, StandardCharsets.UTF_8, 16, 10));
+    }
+
+    private static String readAll(Path file, Charset charset, long window, int chunk) throws IOException {
+        StringBuilder text = new StringBuilder();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try (MappedFileReader reader = new MappedFileReader(channel, charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT), window)) {
+            char[] buffer = new char[chunk];
+            int read;
+            while ((read = reader.read(buffer, 0, chunk)) >= 0) {
+                text.append(buffer, 0, read);
+            }
+        }
+        return text.toString();
+    }
+}
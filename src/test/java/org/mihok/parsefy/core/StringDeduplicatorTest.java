@@ -0,0 +1,48 @@
+package org.mihok.parsefy.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringDeduplicatorTest {
+
+    @Test
+    void shouldReturnCanonicalStringForEqualCharacters() {
+        StringDeduplicator deduplicator = new StringDeduplicator(16);
+
+        String first = deduplicator.dedupe(new StringBuilder("EUR"));
+        String second = deduplicator.dedupe(new StringBuilder("EUR"));
+
+        assertEquals("EUR", first);
+        assertSame(first, second);
+        assertEquals(1, deduplicator.size());
+    }
+
+    @Test
+    void shouldStopGrowingAtMaxSize() {
+        StringDeduplicator deduplicator = new StringDeduplicator(2);
+
+        String a = deduplicator.dedupe("a");
+        deduplicator.dedupe("b");
+        String c = deduplicator.dedupe(new StringBuilder("c"));
+
+        assertEquals(2, deduplicator.size());
+        assertSame(a, deduplicator.dedupe(new StringBuilder("a")));
+        assertEquals("c", c);
+        assertNotSame(c, deduplicator.dedupe(new StringBuilder("c")));
+    }
+
+    @Test
+    void shouldBypassTableForHighCardinality() {
+        StringDeduplicator lowCardinality = new StringDeduplicator(8);
+        StringDeduplicator highCardinality = new StringDeduplicator(8);
+        for (int i = 0; i < 10_000; i++) {
+            lowCardinality.dedupe("v" + i % 8);
+            highCardinality.dedupe("v" + i);
+        }
+
+        assertFalse(lowCardinality.isBypassed());
+        assertTrue(highCardinality.isBypassed());
+        assertEquals("v7", highCardinality.dedupe(new StringBuilder("v7")));
+    }
+}
@@ -0,0 +1,113 @@
+package org.mihok.parsefy.tokenizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FastCsvTokenizerTest {
+
+    private static final String[] SAMPLES = {
+            "",
+            "a,b\n",
+            "a,b\n1,2",
+            "a,b\r\n1,2\r\n\r\n3,4\r\n",
+            "a,b\n\n\n1,2\n",
+            "a,b\n\"x,y\",\"he said \"\"hi\"\"\"\n",
+            "a,b\n\"multi\nline\",2\n3,\"\"\n",
+            "a , b \n  1 ,  \" 2 \"  \n",
+            "a,b,c\n1,,\n,,\n",
+            "a\rb\n",
+            "name\n\"\"\"\"\n",
+    };
+
+    @Test
+    void shouldTokenizeLikeCommonsCsv() throws IOException {
+        for (String sample : SAMPLES) {
+            for (boolean trim : new boolean[]{true, false}) {
+                TokenizerOptions options = new TokenizerOptions(",", trim);
+                List<String> expected = tokenize(Tokenizers.COMMONS_CSV.open(new StringReader(sample), options));
+                assertEquals(expected, tokenize(new FastCsvTokenizer(new StringReader(sample), options)), sample);
+                assertEquals(expected, tokenize(new FastCsvTokenizer(new StringReader(sample), options, 4)), sample);
+            }
+        }
+    }
+
+    @Test
+    void shouldExposeCellsAsReusableViews() throws IOException {
+        CsvTokenizer tokenizer = Tokenizers.FAST.open(new StringReader("a;b\n12;\"x\"\"y\"\n"), new TokenizerOptions(";", true));
+
+        assertTrue(tokenizer.next());
+        assertEquals("12", tokenizer.cell(0).toString());
+        assertEquals(2, tokenizer.cell(0).length());
+        assertEquals("x\"y", tokenizer.cell(1).toString());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void shouldFailOnUnterminatedQuote() throws IOException {
+        CsvTokenizer tokenizer = Tokenizers.FAST.open(new StringReader("a\n\"open"), new TokenizerOptions(",", true));
+
+        assertThrows(IOException.class, tokenizer::next);
+    }
+
+    @Test
+    void shouldReadProjectedColumnsLikeFullScan() throws IOException {
+        String csv = "a,b,c,d\n1,\"x,\"\"y\",2,\"multi\nline\"\n3,,4,5,6\n\"7\" ,8 ,9,\"\"\n";
+        TokenizerOptions all = new TokenizerOptions(",", false);
+        TokenizerOptions projected = new TokenizerOptions(",", false, new HashSet<>(Arrays.asList("a", "c", "missing")));
+
+        CsvTokenizer full = new FastCsvTokenizer(new StringReader(csv), all);
+        CsvTokenizer partial = new FastCsvTokenizer(new StringReader(csv), projected, 4);
+        assertEquals(full.header(), partial.header());
+        while (full.next()) {
+            assertTrue(partial.next());
+            assertEquals(full.recordNumber(), partial.recordNumber());
+            assertEquals(full.size(), partial.size());
+            assertEquals(full.getString(0), partial.getString(0));
+            assertEquals(full.getString(2), partial.cell(2).toString());
+        }
+        assertFalse(partial.next());
+    }
+
+    @Test
+    void shouldRefuseCellsOutsideProjection() throws IOException {
+        CsvTokenizer tokenizer = Tokenizers.FAST.open(new StringReader("a,b,c\n1,2,3"),
+                new TokenizerOptions(",", true, Collections.singleton("b")));
+
+        assertTrue(tokenizer.next());
+        assertEquals(3, tokenizer.size());
+        assertEquals("2", tokenizer.getString(1));
+        assertThrows(IllegalStateException.class, () -> tokenizer.cell(0));
+        assertThrows(IllegalStateException.class, () -> tokenizer.getString(2));
+    }
+
+    @Test
+    void shouldStillFailOnBrokenQuotesOutsideProjection() throws IOException {
+        CsvTokenizer tokenizer = Tokenizers.FAST.open(new StringReader("a,b\n1,\"x\"y\n"),
+                new TokenizerOptions(",", true, Collections.singleton("a")));
+
+        assertThrows(IOException.class, tokenizer::next);
+    }
+
+    private static List<String> tokenize(CsvTokenizer tokenizer) throws IOException {
+        List<String> records = new ArrayList<>();
+        records.add("header " + tokenizer.header());
+        while (tokenizer.next()) {
+            List<String> cells = new ArrayList<>();
+            for (int i = 0; i < tokenizer.size(); i++) {
+                cells.add(tokenizer.getString(i));
+            }
+            records.add(tokenizer.recordNumber() + " " + cells);
+        }
+        tokenizer.close();
+        return records;
+    }
+}